@@ -1,18 +1,53 @@
 package top.jiuxialb.javafx;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
+import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
 import javafx.scene.web.WebView;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import netscape.javascript.JSObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
+import top.jiuxialb.javafx.cache.AssetCache;
+import top.jiuxialb.javafx.common.DataFormat;
+import top.jiuxialb.javafx.common.ImportJob;
+import top.jiuxialb.javafx.desktop.ApiBridge;
+import top.jiuxialb.javafx.desktop.AssetUrlStreamHandler;
+import top.jiuxialb.javafx.desktop.DesktopBridge;
+import top.jiuxialb.javafx.desktop.EmbeddedServerLauncher;
+import top.jiuxialb.javafx.desktop.StartupTimeline;
+import top.jiuxialb.javafx.desktop.WebViewMetrics;
+import top.jiuxialb.javafx.metrics.MetricsRegistry;
+import top.jiuxialb.javafx.service.UserImportService;
 
 import java.io.File;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Spring Boot与JavaFX集成的应用程序主类
@@ -25,8 +60,8 @@ public class SpringBootJavaFXApplication {
     
     private static final Logger logger = LoggerFactory.getLogger(SpringBootJavaFXApplication.class);
     
-    // Spring应用上下文
-    private static ConfigurableApplicationContext applicationContext;
+    // Spring应用上下文，桌面模式下由后台启动线程写入
+    private static volatile ConfigurableApplicationContext applicationContext;
     
     public static void main(String[] args) {
         // 检查是否包含"--web-only"参数
@@ -59,29 +94,72 @@ public class SpringBootJavaFXApplication {
         
         private static String[] savedArgs;
         
+        // 后端就绪（Web服务器已启动、所有单例已创建），完成时携带应用上下文
+        private final CompletableFuture<ApplicationContext> backendReady = new CompletableFuture<>();
+        
+        // 进程内API桥接，页面加载完成后注入为window.javaApi
+        private ApiBridge apiBridge;
+        
+        // 页面加载和前端挂载耗时，后端就绪后创建
+        private WebViewMetrics webViewMetrics;
+        
+        // 未启动Web服务器时按需启动内嵌Web服务器
+        private EmbeddedServerLauncher serverLauncher;
+        
+        // 前端挂载完成后通过桥接对象回调，需持有强引用，WebView内部只保留弱引用
+        private final DesktopBridge desktopBridge = new DesktopBridge(this::onWebAppMounted);
+        
+        // 前端声明会发出挂载信号（desktop-mounted-signal）却迟迟未发出时只记录警告，不阻塞界面
+        private final PauseTransition mountTimeout = new PauseTransition(Duration.seconds(10));
+        
         public static void launchWithArgs(String[] args) {
             savedArgs = args;
+            StartupTimeline.mark("main");
             Application.launch(JavaFXApplication.class, args);
         }
         
         @Override
         public void init() throws Exception {
+            StartupTimeline.mark("javafx-init");
+            // 检查并创建数据库目录
+            checkAndCreateDatabaseDirectory();
+            
+            // Spring Boot在后台线程启动，与窗口和WebView的创建并行进行
+            Thread springThread = new Thread(this::startSpring, "spring-startup");
+            springThread.setDaemon(true);
+            springThread.start();
+        }
+        
+        /**
+         * 启动Spring Boot应用，Web服务器端口就绪（不启动Web服务器时为上下文启动完成）后立即通知界面加载页面
+         */
+        private void startSpring() {
             try {
-                // 检查并创建数据库目录
-                checkAndCreateDatabaseDirectory();
-                
-                // 在JavaFX应用初始化时启动Spring Boot应用
                 applicationContext = new SpringApplicationBuilder()
                         .sources(SpringBootJavaFXApplication.class)
                         .headless(false)
+                        .listeners(event -> {
+                            // 子上下文（按需启动的Web服务器）的事件也会传播到这里，只处理首次就绪
+                            if (backendReady.isDone()) {
+                                return;
+                            }
+                            if (event instanceof WebServerInitializedEvent webServerEvent) {
+                                StartupTimeline.mark("web-server-ready");
+                                backendReady.complete(webServerEvent.getApplicationContext());
+                            } else if (event instanceof ApplicationStartedEvent startedEvent) {
+                                // 不启动Web服务器时，上下文刷新完成即可加载页面
+                                backendReady.complete(startedEvent.getApplicationContext());
+                            }
+                        })
                         .run(savedArgs);
-            } catch (Exception e) {
+                StartupTimeline.mark("spring-started");
+            } catch (Throwable e) {
                 // 打印详细的错误信息到控制台
                 StringWriter sw = new StringWriter();
                 PrintWriter pw = new PrintWriter(sw);
                 e.printStackTrace(pw);
                 logger.error("Spring Boot startup error: " + sw.toString());
-                throw e;
+                backendReady.completeExceptionally(e);
             }
         }
         
@@ -117,113 +195,28 @@ public class SpringBootJavaFXApplication {
         @Override
         public void start(Stage primaryStage) throws Exception {
             try {
-                // 创建WebView并加载web/index.html
-                WebView webView = new WebView();
-                // 启用JavaScript
-                webView.getEngine().setJavaScriptEnabled(true);
+                StartupTimeline.mark("javafx-start");
                 
-                // 设置WebView大小以填充整个窗口
-                webView.setPrefSize(800, 600);
-                
-                try {
-                    // 获取资源URL并加载
-                    String webUrl = getClass().getResource("/web/index.html").toExternalForm();
-                    System.out.println("Loading URL: " + webUrl);
-                    webView.getEngine().load(webUrl);
-                    
-                    // 添加加载状态监听器以便调试
-                    webView.getEngine().getLoadWorker().stateProperty().addListener((obs, oldState, newState) -> {
-                        System.out.println("WebView loading state: " + newState);
-                        if (newState == javafx.concurrent.Worker.State.FAILED) {
-                            System.err.println("Failed to load web page: " + 
-                                webView.getEngine().getLoadWorker().getException().getMessage());
-                            
-                            // 如果加载失败，显示错误信息
-                            webView.getEngine().loadContent(
-                                "<html><body>" +
-                                "<h1 style='color:red;'>Error Loading Application</h1>" +
-                                "<p>Please check if the frontend build was successful and resources were copied.</p>" +
-                                "<p>Error: " + webView.getEngine().getLoadWorker().getException().getMessage() + "</p>" +
-                                "</body></html>"
-                            );
-                        } else if (newState == javafx.concurrent.Worker.State.SUCCEEDED) {
-                            System.out.println("Successfully loaded web page");
-                            // 页面加载成功后执行一些JavaScript来验证
-                            try {
-                                // 等待一段时间确保Vue应用完全初始化
-                                Thread.sleep(1000);
-                                // 尝试执行一些JavaScript来验证Vue是否正常工作
-                                Object result = webView.getEngine().executeScript("document.title");
-                                System.out.println("Page title: " + result);
-                                
-                                // 检查Vue应用程序是否正确初始化
-                                Object vueCheck = webView.getEngine().executeScript(
-                                    "typeof window.VueApp !== 'undefined' ? 'Vue app initialized' : 'Vue app not found'"
-                                );
-                                System.out.println("Vue app status: " + vueCheck);
-                                
-                                // 检查应用程序容器元素
-                                Object appElement = webView.getEngine().executeScript(
-                                    "document.getElementById('app') ? 'App element found' : 'App element not found'"
-                                );
-                                System.out.println("App element status: " + appElement);
-                                
-                                // 检查应用程序容器中是否有内容
-                                Object appContent = webView.getEngine().executeScript(
-                                    "document.getElementById('app').innerHTML.length"
-                                );
-                                System.out.println("App content length: " + appContent);
-                            } catch (Exception e) {
-                                System.err.println("Error executing JavaScript: " + e.getMessage());
-                                e.printStackTrace();
-                            }
-                        }
-                    });
-                    
-                    // 监听JavaScript错误
-                    webView.getEngine().onErrorProperty().set(event -> {
-                        System.err.println("JavaScript Error: " + event.getMessage());
-                        // 注意：某些版本的JavaFX中WebErrorEvent可能没有getFailingUrl方法
-                        try {
-                            // 使用反射来安全地调用getFailingUrl方法（如果存在）
-                            java.lang.reflect.Method method = event.getClass().getMethod("getFailingUrl");
-                            Object url = method.invoke(event);
-                            System.err.println("Error URL: " + url);
-                        } catch (Exception ex) {
-                            System.err.println("Could not get failing URL: " + ex.getMessage());
-                        }
-                    });
-                } catch (Exception e) {
-                    System.err.println("Error getting resource URL: " + e.getMessage());
-                    e.printStackTrace();
-                    
-                    try {
-                        // 如果index.html加载失败，尝试加载简单测试页面
-                        String simpleUrl = getClass().getResource("/web/simple.html").toExternalForm();
-                        webView.getEngine().load(simpleUrl);
-                    } catch (Exception ex) {
-                        System.err.println("Error loading simple.html: " + ex.getMessage());
-                        // 如果都无法加载，则显示默认内容
-                        webView.getEngine().loadContent(
-                            "<html><head><title>JavaFX App</title></head>" +
-                            "<body style='font-family: Arial, sans-serif; padding: 20px;'>" +
-                            "<h1>Welcome to JavaFX Application</h1>" +
-                            "<p>Your Vue.js frontend should appear here.</p>" +
-                            "<p>If you see this message, there might be an issue with the frontend build.</p>" +
-                            "<h2>Troubleshooting:</h2>" +
-                            "<ol>" +
-                            "<li>Run <code>npm run build</code> in the <code>front</code> directory</li>" +
-                            "<li>Run <code>node copy-to-java-resources.cjs</code> to copy built resources</li>" +
-                            "<li>Rebuild and restart the JavaFX application</li>" +
-                            "</ol>" +
-                            "<p>Current time: " + new java.util.Date() + "</p>" +
-                            "</body></html>"
-                        );
-                    }
-                }
+                // 启动画面只包含轻量控件，保证窗口第一时间显示
+                Label status = new Label("正在启动...");
+                ProgressIndicator indicator = new ProgressIndicator();
+                VBox splash = new VBox(12, indicator, status);
+                splash.setAlignment(Pos.CENTER);
+                splash.setStyle("-fx-background-color: white;");
+                StackPane root = new StackPane(splash);
                 
                 // 创建场景
-                Scene scene = new Scene(webView, 800, 600);
+                Scene scene = new Scene(root, 800, 600);
+                
+                // Ctrl/Cmd+I 从本地文件导入用户
+                scene.getAccelerators().put(
+                        new KeyCodeCombination(KeyCode.I, KeyCombination.SHORTCUT_DOWN),
+                        () -> importUsersFromFile(primaryStage));
+                
+                // Ctrl/Cmd+Shift+S 启动或停止内嵌Web服务器，供外部客户端访问REST接口
+                scene.getAccelerators().put(
+                        new KeyCodeCombination(KeyCode.S, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN),
+                        this::toggleEmbeddedServer);
                 
                 // 配置主窗口
                 primaryStage.setTitle("JiuXialb");
@@ -233,6 +226,7 @@ public class SpringBootJavaFXApplication {
                 
                 // 显示窗口
                 primaryStage.show();
+                StartupTimeline.mark("stage-shown");
                 
                 // 添加关闭事件处理
                 primaryStage.setOnCloseRequest(event -> {
@@ -245,6 +239,31 @@ public class SpringBootJavaFXApplication {
                     System.exit(0);
                 });
                 
+                // WebView初始化较慢，放到首帧绘制之后，置于启动画面下方
+                Platform.runLater(() -> {
+                    WebView webView = createWebView(root, splash);
+                    root.getChildren().add(0, webView);
+                    StartupTimeline.mark("webview-created");
+                    mountTimeout.setOnFinished(event -> {
+                        logger.warn("前端应用在{}秒内未发出挂载信号", mountTimeout.getDuration().toSeconds());
+                        StartupTimeline.report();
+                    });
+                    
+                    backendReady.whenComplete((context, error) -> Platform.runLater(() -> {
+                        if (error != null) {
+                            indicator.setVisible(false);
+                            status.setText("启动失败: " + rootCauseMessage(error));
+                            return;
+                        }
+                        apiBridge = new ApiBridge(context, webView.getEngine());
+                        webViewMetrics = new WebViewMetrics(context.getBean(MetricsRegistry.class),
+                                context.getBean(ObjectMapper.class));
+                        desktopBridge.setDiagnosticsListener(webViewMetrics::mounted);
+                        status.setText("正在加载页面...");
+                        loadWebPage(webView, context);
+                    }));
+                });
+                
             } catch (Exception e) {
                 // 打印详细的错误信息到控制台
                 StringWriter sw = new StringWriter();
@@ -256,9 +275,248 @@ public class SpringBootJavaFXApplication {
             }
         }
         
+        /**
+         * 创建WebView并注册加载状态和错误监听，页面加载完成后移除启动画面
+         */
+        private WebView createWebView(StackPane root, Node splash) {
+            WebView webView = new WebView();
+            // 启用JavaScript
+            webView.getEngine().setJavaScriptEnabled(true);
+            
+            // 设置WebView大小以填充整个窗口
+            webView.setPrefSize(800, 600);
+            
+            // 添加加载状态监听器以便调试
+            webView.getEngine().getLoadWorker().stateProperty().addListener((obs, oldState, newState) -> {
+                System.out.println("WebView loading state: " + newState);
+                if (newState == javafx.concurrent.Worker.State.SCHEDULED) {
+                    desktopBridge.reset();
+                    mountTimeout.stop();
+                    if (webViewMetrics != null) {
+                        webViewMetrics.loadStarted();
+                    }
+                } else if (newState == javafx.concurrent.Worker.State.FAILED) {
+                    if (webViewMetrics != null) {
+                        webViewMetrics.loadFinished(false);
+                    }
+                    root.getChildren().remove(splash);
+                    System.err.println("Failed to load web page: " + 
+                        webView.getEngine().getLoadWorker().getException().getMessage());
+                    
+                    // 如果加载失败，显示错误信息
+                    webView.getEngine().loadContent(
+                        "<html><body>" +
+                        "<h1 style='color:red;'>Error Loading Application</h1>" +
+                        "<p>Please check if the frontend build was successful and resources were copied.</p>" +
+                        "<p>Error: " + webView.getEngine().getLoadWorker().getException().getMessage() + "</p>" +
+                        "</body></html>"
+                    );
+                } else if (newState == javafx.concurrent.Worker.State.SUCCEEDED) {
+                    System.out.println("Successfully loaded web page");
+                    if (webViewMetrics != null) {
+                        webViewMetrics.loadFinished(true);
+                    }
+                    root.getChildren().remove(splash);
+                    StartupTimeline.mark("page-loaded");
+                    
+                    // 注入桥接对象；Vue在注入前已挂载时，由这里补发挂载信号
+                    JSObject window = (JSObject) webView.getEngine().executeScript("window");
+                    window.setMember("desktopBridge", desktopBridge);
+                    if (apiBridge != null) {
+                        // 前端请求在桥接对象注入前已排队等待，注入后通知其开始提交
+                        window.setMember("javaApi", apiBridge);
+                        webView.getEngine().executeScript("window.__javaApiReady && window.__javaApiReady()");
+                    }
+                    webView.getEngine().executeScript(
+                        "window.__desktopMounted && window.desktopBridge.onMounted(window.__desktopMounted)");
+                    if (!desktopBridge.isMounted()) {
+                        // 早于挂载信号的前端包不会回调，以页面加载完成作为启动完成，不再等待超时
+                        Object signalSupported = webView.getEngine().executeScript(
+                            "document.querySelector('meta[name=\"desktop-mounted-signal\"]') !== null");
+                        if (Boolean.TRUE.equals(signalSupported)) {
+                            mountTimeout.playFromStart();
+                        } else {
+                            logger.info("当前前端包不发送挂载信号，以页面加载完成作为启动完成");
+                            onWebAppMounted();
+                        }
+                    }
+                }
+            });
+            
+            // 监听JavaScript错误
+            webView.getEngine().onErrorProperty().set(event -> {
+                System.err.println("JavaScript Error: " + event.getMessage());
+                // 注意：某些版本的JavaFX中WebErrorEvent可能没有getFailingUrl方法
+                try {
+                    // 使用反射来安全地调用getFailingUrl方法（如果存在）
+                    java.lang.reflect.Method method = event.getClass().getMethod("getFailingUrl");
+                    Object url = method.invoke(event);
+                    System.err.println("Error URL: " + url);
+                } catch (Exception ex) {
+                    System.err.println("Could not get failing URL: " + ex.getMessage());
+                }
+            });
+            return webView;
+        }
+        
+        /**
+         * 加载前端页面，失败时回退到测试页面或内置的提示内容
+         * 优先通过app://协议从内存缓存加载，协议注册失败时直接从classpath加载
+         */
+        private void loadWebPage(WebView webView, ApplicationContext context) {
+            try {
+                // 获取资源URL并加载
+                String webUrl = AssetUrlStreamHandler.install(() -> context.getBean(AssetCache.class))
+                        ? AssetUrlStreamHandler.INDEX_URL
+                        : getClass().getResource("/web/index.html").toExternalForm();
+                System.out.println("Loading URL: " + webUrl);
+                webView.getEngine().load(webUrl);
+            } catch (Exception e) {
+                System.err.println("Error getting resource URL: " + e.getMessage());
+                e.printStackTrace();
+                
+                try {
+                    // 如果index.html加载失败，尝试加载简单测试页面
+                    String simpleUrl = getClass().getResource("/web/simple.html").toExternalForm();
+                    webView.getEngine().load(simpleUrl);
+                } catch (Exception ex) {
+                    System.err.println("Error loading simple.html: " + ex.getMessage());
+                    // 如果都无法加载，则显示默认内容
+                    webView.getEngine().loadContent(
+                        "<html><head><title>JavaFX App</title></head>" +
+                        "<body style='font-family: Arial, sans-serif; padding: 20px;'>" +
+                        "<h1>Welcome to JavaFX Application</h1>" +
+                        "<p>Your Vue.js frontend should appear here.</p>" +
+                        "<p>If you see this message, there might be an issue with the frontend build.</p>" +
+                        "<h2>Troubleshooting:</h2>" +
+                        "<ol>" +
+                        "<li>Run <code>npm run build</code> in the <code>front</code> directory</li>" +
+                        "<li>Run <code>node copy-to-java-resources.cjs</code> to copy built resources</li>" +
+                        "<li>Rebuild and restart the JavaFX application</li>" +
+                        "</ol>" +
+                        "<p>Current time: " + new java.util.Date() + "</p>" +
+                        "</body></html>"
+                    );
+                }
+            }
+        }
+        
+        /**
+         * 启动或停止按需启动的内嵌Web服务器，启动较慢，在后台线程执行
+         */
+        private void toggleEmbeddedServer() {
+            if (applicationContext == null) {
+                return;
+            }
+            if (serverLauncher == null) {
+                serverLauncher = new EmbeddedServerLauncher(applicationContext);
+            }
+            EmbeddedServerLauncher launcher = serverLauncher;
+            Thread thread = new Thread(() -> {
+                String message;
+                try {
+                    if (launcher.isRunning() && !(applicationContext instanceof WebServerApplicationContext)) {
+                        launcher.stop();
+                        message = "内嵌Web服务器已停止";
+                    } else {
+                        message = "REST接口地址: http://localhost:" + launcher.start() + "/api";
+                    }
+                } catch (Exception e) {
+                    logger.error("切换内嵌Web服务器失败", e);
+                    message = "内嵌Web服务器启动失败: " + rootCauseMessage(e);
+                }
+                String text = message;
+                Platform.runLater(() -> {
+                    Alert alert = new Alert(Alert.AlertType.INFORMATION, text);
+                    alert.setHeaderText("本地API服务");
+                    alert.show();
+                });
+            }, "embedded-server");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        
+        /**
+         * 前端挂载完成，在FX应用线程上执行
+         */
+        private void onWebAppMounted() {
+            mountTimeout.stop();
+            StartupTimeline.mark("web-app-mounted");
+            StartupTimeline.report();
+            if (webViewMetrics != null) {
+                webViewMetrics.startupCompleted();
+            }
+        }
+        
+        private static String rootCauseMessage(Throwable error) {
+            Throwable cause = error;
+            while (cause.getCause() != null && cause.getCause() != cause) {
+                cause = cause.getCause();
+            }
+            return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        }
+        
+        /**
+         * 选择本地CSV/NDJSON文件导入用户，导入在后台执行，进度显示在窗口标题中
+         */
+        private void importUsersFromFile(Stage stage) {
+            if (applicationContext == null) {
+                return;
+            }
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("导入用户");
+            chooser.getExtensionFilters().add(
+                    new FileChooser.ExtensionFilter("用户数据 (*.csv, *.ndjson, *.jsonl)", "*.csv", "*.ndjson", "*.jsonl"));
+            File file = chooser.showOpenDialog(stage);
+            if (file == null) {
+                return;
+            }
+            
+            ImportJob job;
+            try {
+                UserImportService importService = applicationContext.getBean(UserImportService.class);
+                job = importService.startImport(file.toPath(), file.getName(), DataFormat.fromFileName(file.getName()), false);
+            } catch (Exception e) {
+                logger.error("启动导入失败: {}", file, e);
+                Alert alert = new Alert(Alert.AlertType.ERROR, e.getMessage());
+                alert.setHeaderText("启动导入失败");
+                alert.show();
+                return;
+            }
+            
+            String title = stage.getTitle();
+            Timeline progress = new Timeline();
+            progress.getKeyFrames().add(new KeyFrame(Duration.millis(500), event -> {
+                if (!job.isFinished()) {
+                    stage.setTitle(String.format("%s - 正在导入 %s %.0f%%", title, job.getFileName(), job.getProgress()));
+                    return;
+                }
+                progress.stop();
+                stage.setTitle(title);
+                
+                boolean completed = job.getStatus() == ImportJob.Status.COMPLETED;
+                String summary = String.format("已处理 %d 行，成功 %d 行，失败 %d 行",
+                        job.getProcessedRows(), job.getImportedRows(), job.getFailedRows());
+                if (job.getMessage() != null) {
+                    summary += "\n" + job.getMessage();
+                }
+                Alert alert = new Alert(completed ? Alert.AlertType.INFORMATION : Alert.AlertType.ERROR, summary);
+                alert.setHeaderText(completed ? "导入完成" : "导入失败");
+                alert.show();
+            }));
+            progress.setCycleCount(Animation.INDEFINITE);
+            progress.play();
+        }
+        
         @Override
         public void stop() throws Exception {
             try {
+                if (apiBridge != null) {
+                    apiBridge.shutdown();
+                }
+                if (serverLauncher != null) {
+                    serverLauncher.stop();
+                }
                 // 关闭Spring应用上下文
                 if (applicationContext != null) {
                     applicationContext.close();
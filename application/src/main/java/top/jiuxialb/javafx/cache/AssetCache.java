@@ -0,0 +1,263 @@
+package top.jiuxialb.javafx.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 前端静态资源内存缓存
+ * 创建时扫描classpath:web/下打包的全部资源（index.html和构建产物）读入内存，之后的请求不再读取jar；
+ * 不在其中的路径一律返回null（404），缓存大小只取决于打包的资源。
+ * 构建时生成的.br、.gz预压缩文件作为对应资源的编码版本；没有预压缩文件的可压缩资源在创建时用gzip压缩好。
+ * 每种编码都有独立的强ETag（内容的SHA-256）。
+ */
+@Component
+public class AssetCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetCache.class);
+
+    private static final String ROOT = "web/";
+
+    /**
+     * 构建产物文件名中的内容哈希，例如index.xcoSHmI_.js
+     */
+    private static final Pattern HASHED_NAME = Pattern.compile(".*\\.[A-Za-z0-9_-]{8}\\.[A-Za-z0-9]+$");
+
+    /**
+     * 小于该大小的资源不压缩
+     */
+    private static final int MIN_COMPRESS_SIZE = 1024;
+
+    private final Map<String, Asset> assets;
+
+    public AssetCache() {
+        long begin = System.currentTimeMillis();
+        Map<String, byte[]> files = scan();
+        Map<String, Asset> loaded = new HashMap<>();
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            String path = file.getKey();
+            if (!path.endsWith(".br") && !path.endsWith(".gz")) {
+                loaded.put(path, load(path, file.getValue(), files.get(path + ".br"), files.get(path + ".gz")));
+            }
+        }
+        assets = Map.copyOf(loaded);
+        logger.info("已缓存前端资源{}个，耗时: {}ms", assets.size(), System.currentTimeMillis() - begin);
+    }
+
+    /**
+     * 读取资源
+     * @param path 相对web目录的路径，例如index.html、assets/index.xcoSHmI_.js
+     * @return 资源，不是打包的资源时返回null
+     */
+    public Asset get(String path) {
+        return path != null ? assets.get(path) : null;
+    }
+
+    /**
+     * 读取classpath:web/下的全部文件
+     * @return 相对web目录的路径到内容
+     */
+    private static Map<String, byte[]> scan() {
+        PathMatchingResourcePatternResolver resolver =
+                new PathMatchingResourcePatternResolver(AssetCache.class.getClassLoader());
+        Map<String, byte[]> files = new HashMap<>();
+        try {
+            Resource root = resolver.getResource("classpath:" + ROOT);
+            if (!root.exists()) {
+                logger.warn("未找到前端资源目录: classpath:{}", ROOT);
+                return files;
+            }
+            String rootUrl = root.getURL().toExternalForm();
+            for (Resource resource : resolver.getResources("classpath:" + ROOT + "**")) {
+                String url = resource.getURL().toExternalForm();
+                if (!url.startsWith(rootUrl) || url.endsWith("/") || !resource.isReadable()) {
+                    continue;
+                }
+                try (InputStream in = resource.getInputStream()) {
+                    files.put(url.substring(rootUrl.length()), in.readAllBytes());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return files;
+    }
+
+    private static Asset load(String path, byte[] identity, byte[] brotli, byte[] gzip) {
+        MediaType mediaType = MediaTypeFactory.getMediaType(path).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        brotli = smaller(brotli, identity);
+        gzip = smaller(gzip, identity);
+        if (gzip == null && identity.length >= MIN_COMPRESS_SIZE && isCompressible(mediaType)) {
+            gzip = smaller(gzip(identity), identity);
+        }
+        logger.debug("已缓存前端资源: {} ({}字节, gzip={}, br={})", path, identity.length,
+                gzip != null ? gzip.length : "-", brotli != null ? brotli.length : "-");
+        return new Asset(path, mediaType, HASHED_NAME.matcher(path).matches(), identity, gzip, brotli);
+    }
+
+    private static boolean isCompressible(MediaType mediaType) {
+        String subtype = mediaType.getSubtype();
+        return "text".equals(mediaType.getType()) || subtype.contains("javascript") || subtype.contains("json")
+                || subtype.contains("xml") || subtype.contains("icon");
+    }
+
+    /**
+     * 压缩结果没有变小时不使用
+     */
+    private static byte[] smaller(byte[] compressed, byte[] identity) {
+        return compressed != null && compressed.length < identity.length ? compressed : null;
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 3);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] content, String suffix) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + suffix + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 一个资源及其各编码版本
+     */
+    public static final class Asset {
+        private final String path;
+        private final MediaType mediaType;
+        private final boolean immutable;
+        private final Variant identity;
+        private final Variant gzip;
+        private final Variant brotli;
+
+        private Asset(String path, MediaType mediaType, boolean immutable, byte[] identity, byte[] gzip, byte[] brotli) {
+            this.path = path;
+            this.mediaType = mediaType;
+            this.immutable = immutable;
+            String etag = etag(identity, "");
+            this.identity = new Variant(identity, null, etag);
+            this.gzip = gzip != null ? new Variant(gzip, "gzip", etag.replaceFirst("\"$", "-gz\"")) : null;
+            this.brotli = brotli != null ? new Variant(brotli, "br", etag.replaceFirst("\"$", "-br\"")) : null;
+        }
+
+        /**
+         * 按Accept-Encoding选择编码，优先br，其次gzip
+         */
+        public Variant select(String acceptEncoding) {
+            if (brotli != null && accepts(acceptEncoding, "br")) {
+                return brotli;
+            }
+            if (gzip != null && accepts(acceptEncoding, "gzip")) {
+                return gzip;
+            }
+            return identity;
+        }
+
+        /**
+         * 是否存在压缩版本，响应需要带Vary: Accept-Encoding
+         */
+        public boolean hasEncodings() {
+            return gzip != null || brotli != null;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * 文件名带内容哈希，内容永不变化，可以长期缓存
+         */
+        public boolean isImmutable() {
+            return immutable;
+        }
+
+        public Variant getIdentity() {
+            return identity;
+        }
+
+        private static boolean accepts(String acceptEncoding, String coding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            for (String part : acceptEncoding.split(",")) {
+                String[] tokens = part.trim().split(";");
+                if (!tokens[0].trim().equalsIgnoreCase(coding)) {
+                    continue;
+                }
+                for (int i = 1; i < tokens.length; i++) {
+                    String param = tokens[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            return Double.parseDouble(param.substring(2)) > 0;
+                        } catch (NumberFormatException e) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 资源的某一种编码
+     */
+    public static final class Variant {
+        private final byte[] content;
+        private final String encoding;
+        private final String etag;
+
+        private Variant(byte[] content, String encoding, String etag) {
+            this.content = content;
+            this.encoding = encoding;
+            this.etag = etag;
+        }
+
+        /**
+         * 内容，调用方不得修改
+         */
+        public byte[] getContent() {
+            return content;
+        }
+
+        /**
+         * Content-Encoding，未压缩时为null
+         */
+        public String getEncoding() {
+            return encoding;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package top.jiuxialb.javafx.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import top.jiuxialb.javafx.entity.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 用户读穿透缓存
+ * 以ID为主键缓存用户，邮箱作为二级索引映射到ID；查询不到的结果同样缓存（较短的TTL），
+ * 避免轮询不存在的用户时反复访问数据库。容量满时按LRU淘汰。
+ *
+ * 写操作完成后由UserServiceImpl调用invalidate；每次失效都会递增代次，
+ * 与失效并发进行的加载结果不会写回缓存，避免把旧数据重新放进去。事务中的失效在提交后再执行一次。
+ */
+@Component
+public class UserCache {
+
+    @Value("${app.user.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.user.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${app.user.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${app.user.cache.negative-ttl-seconds:10}")
+    private long negativeTtlSeconds;
+
+    private final Map<Long, Entry<User>> byId = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Entry<Long>> byEmail = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 按ID读取用户，未命中时调用loader加载
+     * @return 用户副本，不存在时返回null
+     */
+    public User getById(Long id, Function<Long, User> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        Entry<User> entry;
+        synchronized (this) {
+            entry = live(byId, id);
+        }
+        if (entry != null) {
+            record(entry);
+            return copy(entry.value);
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        User user = loader.apply(id);
+        synchronized (this) {
+            if (generation.get() == loadGeneration) {
+                put(byId, id, new Entry<>(user, ttlNanos(user)));
+                if (user != null && user.getEmail() != null) {
+                    put(byEmail, user.getEmail(), new Entry<>(user.getId(), ttlNanos(user)));
+                }
+            }
+        }
+        return copy(user);
+    }
+
+    /**
+     * 按邮箱读取用户，未命中时调用loader加载
+     * @return 用户副本，不存在时返回null
+     */
+    public User getByEmail(String email, Function<String, User> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+        Entry<Long> indexEntry;
+        Entry<User> userEntry = null;
+        synchronized (this) {
+            indexEntry = live(byEmail, email);
+            if (indexEntry != null && indexEntry.value != null) {
+                userEntry = live(byId, indexEntry.value);
+            }
+        }
+        if (indexEntry != null && indexEntry.value == null) {
+            record(indexEntry);
+            return null;
+        }
+        // 二级索引只在指向的用户仍然持有该邮箱时才算命中
+        if (userEntry != null && userEntry.value != null && email.equals(userEntry.value.getEmail())) {
+            record(userEntry);
+            return copy(userEntry.value);
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        User user = loader.apply(email);
+        synchronized (this) {
+            if (generation.get() == loadGeneration) {
+                put(byEmail, email, new Entry<>(user != null ? user.getId() : null, ttlNanos(user)));
+                if (user != null) {
+                    put(byId, user.getId(), new Entry<>(user, ttlNanos(user)));
+                }
+            }
+        }
+        return copy(user);
+    }
+
+    /**
+     * 使指定用户和邮箱的缓存失效，任一参数可为null
+     * 在事务中调用时，事务提交后会再失效一次，见invalidateAll
+     */
+    public void invalidate(Long id, String email) {
+        if (!enabled) {
+            return;
+        }
+        invalidateAll(id != null ? List.of(id) : List.of(), email != null ? List.of(email) : List.of());
+    }
+
+    /**
+     * 批量失效
+     * 在事务中调用时，事务提交后会再失效一次：提交前并发的读取仍能读到旧数据并写回缓存，
+     * 只在这里失效的话，旧数据会一直保留到TTL过期
+     */
+    public void invalidateAll(Collection<Long> ids, Collection<String> emails) {
+        if (!enabled) {
+            return;
+        }
+        remove(ids, emails);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> committedIds = new ArrayList<>(ids);
+            List<String> committedEmails = new ArrayList<>(emails);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(committedIds, committedEmails);
+                }
+            });
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        synchronized (this) {
+            generation.incrementAndGet();
+            invalidations.add(byId.size() + byEmail.size());
+            byId.clear();
+            byEmail.clear();
+        }
+    }
+
+    /**
+     * 统计信息快照
+     */
+    public CacheStats stats() {
+        CacheStats stats = new CacheStats();
+        stats.setEnabled(enabled);
+        synchronized (this) {
+            stats.setSize(byId.size());
+        }
+        stats.setMaxSize(maxSize);
+        stats.setHits(hits.sum());
+        stats.setNegativeHits(negativeHits.sum());
+        stats.setMisses(misses.sum());
+        stats.setEvictions(evictions.sum());
+        stats.setExpirations(expirations.sum());
+        stats.setInvalidations(invalidations.sum());
+        return stats;
+    }
+
+    private void record(Entry<?> entry) {
+        hits.increment();
+        if (entry.value == null) {
+            negativeHits.increment();
+        }
+    }
+
+    private void remove(Collection<Long> ids, Collection<String> emails) {
+        synchronized (this) {
+            generation.incrementAndGet();
+            for (Long id : ids) {
+                if (byId.remove(id) != null) {
+                    invalidations.increment();
+                }
+            }
+            for (String email : emails) {
+                if (byEmail.remove(email) != null) {
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * 读取未过期的条目，过期条目顺便移除，调用方需持有锁
+     */
+    private <K, V> Entry<V> live(Map<K, Entry<V>> map, K key) {
+        Entry<V> entry = map.get(key);
+        if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+            map.remove(key);
+            expirations.increment();
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 写入条目并按LRU淘汰超出容量的部分，调用方需持有锁
+     */
+    private <K, V> void put(Map<K, Entry<V>> map, K key, Entry<V> entry) {
+        map.put(key, entry);
+        Iterator<Map.Entry<K, Entry<V>>> iterator = map.entrySet().iterator();
+        while (map.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private long ttlNanos(User user) {
+        long seconds = user != null ? ttlSeconds : negativeTtlSeconds;
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    /**
+     * 返回副本，防止调用方修改缓存中的对象
+     */
+    private static User copy(User user) {
+        if (user == null) {
+            return null;
+        }
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setName(user.getName());
+        copy.setEmail(user.getEmail());
+        copy.setAge(user.getAge());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+
+    /**
+     * 缓存条目，value为null表示“不存在”
+     */
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
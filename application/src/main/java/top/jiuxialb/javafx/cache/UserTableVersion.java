@@ -0,0 +1,120 @@
+package top.jiuxialb.javafx.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * user表的内存版本号，每次写操作递增
+ * 用于生成列表和单个用户响应的ETag：版本号没变说明表内容没变，条件请求可以不查库直接返回304。
+ * 版本号只在内存中维护，进程重启后启动ID变化，之前发出的ETag全部失效。
+ */
+@Component
+public class UserTableVersion {
+
+    private final String bootId = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModified = System.currentTimeMillis();
+
+    /**
+     * 记录一次写操作
+     * 在事务中调用时，事务结束后会再递增一次，保证事务执行期间读到旧数据的响应不会带上最终的版本号
+     */
+    public void markChanged() {
+        increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    increment();
+                }
+            });
+        }
+    }
+
+    /**
+     * 当前版本快照，读请求开始时获取，按开始时的版本生成ETag
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(bootId, version.get(), lastModified);
+    }
+
+    private void increment() {
+        lastModified = System.currentTimeMillis();
+        version.incrementAndGet();
+    }
+
+    /**
+     * 版本快照
+     */
+    public static final class Snapshot {
+        private final String bootId;
+        private final long version;
+        private final long lastModified;
+
+        private Snapshot(String bootId, long version, long lastModified) {
+            this.bootId = bootId;
+            this.version = version;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * 整表ETag，用于列表类响应
+         */
+        public String etag() {
+            return "W/\"" + bootId + "." + version + "\"";
+        }
+
+        /**
+         * 单个用户的ETag，附带该用户的更新时间
+         */
+        public String etag(long updatedAt) {
+            return "W/\"" + bootId + "." + version + "." + updatedAt + "\"";
+        }
+
+        /**
+         * ETag是否由当前版本生成
+         */
+        public boolean isCurrent(String etag) {
+            String[] parts = parse(etag);
+            return parts.length >= 2 && bootId.equals(parts[0]) && String.valueOf(version).equals(parts[1]);
+        }
+
+        /**
+         * ETag中附带的用户更新时间
+         * @return 不是单个用户的ETag或不是本进程发出时返回null
+         */
+        public Long updatedAt(String etag) {
+            String[] parts = parse(etag);
+            if (parts.length != 3 || !bootId.equals(parts[0])) {
+                return null;
+            }
+            try {
+                return Long.valueOf(parts[2]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        /**
+         * 最近一次写操作的时间（毫秒）
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        private static String[] parse(String etag) {
+            String value = etag.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+                return new String[0];
+            }
+            return value.substring(1, value.length() - 1).split("\\.");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package top.jiuxialb.javafx.common;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 批量操作结果，按提交顺序给出每一项的处理结果
+ */
+public class BatchResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 成功条数
+     */
+    private int successCount;
+
+    /**
+     * 失败条数
+     */
+    private int failureCount;
+
+    /**
+     * 每一项的处理结果
+     */
+    private List<Item> items = new ArrayList<>();
+
+    /**
+     * 记录成功项
+     * @param index 在请求中的下标
+     * @param id 记录ID
+     */
+    public void success(int index, Long id) {
+        items.add(new Item(index, id, true, null));
+        successCount++;
+    }
+
+    /**
+     * 记录失败项
+     * @param index 在请求中的下标
+     * @param id 记录ID，未知时为null
+     * @param message 失败原因
+     */
+    public void fail(int index, Long id, String message) {
+        items.add(new Item(index, id, false, message));
+        failureCount++;
+    }
+
+    /**
+     * 按请求下标排序
+     */
+    public BatchResult sorted() {
+        items.sort(Comparator.comparingInt(Item::getIndex));
+        return this;
+    }
+
+    // Getter和Setter方法
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(int successCount) {
+        this.successCount = successCount;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(int failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    /**
+     * 单项处理结果
+     */
+    public static class Item implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private int index;
+        private Long id;
+        private boolean success;
+        private String message;
+
+        public Item() {
+        }
+
+        public Item(int index, Long id, boolean success, String message) {
+            this.index = index;
+            this.id = id;
+            this.success = success;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public void setSuccess(boolean success) {
+            this.success = success;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
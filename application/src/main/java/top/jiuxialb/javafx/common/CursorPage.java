@@ -0,0 +1,96 @@
+package top.jiuxialb.javafx.common;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 游标分页结果
+ * 不依赖OFFSET和COUNT(*)，翻页耗时与页码深度无关
+ * @param <T> 记录类型
+ */
+public class CursorPage<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 当前页记录
+     */
+    private List<T> records = Collections.emptyList();
+
+    /**
+     * 每页条数
+     */
+    private int size;
+
+    /**
+     * 下一页游标，没有下一页时为null
+     */
+    private String nextCursor;
+
+    /**
+     * 上一页游标，没有上一页时为null
+     */
+    private String prevCursor;
+
+    /**
+     * 总条数，仅在请求时返回，否则为null
+     */
+    private Long total;
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> records, int size) {
+        this.records = records;
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean isHasPrev() {
+        return prevCursor != null;
+    }
+
+    // Getter和Setter方法
+    public List<T> getRecords() {
+        return records;
+    }
+
+    public void setRecords(List<T> records) {
+        this.records = records;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    public void setPrevCursor(String prevCursor) {
+        this.prevCursor = prevCursor;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+}
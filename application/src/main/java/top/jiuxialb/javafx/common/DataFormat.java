@@ -0,0 +1,49 @@
+package top.jiuxialb.javafx.common;
+
+import top.jiuxialb.javafx.exception.BusinessException;
+
+/**
+ * 导入导出的数据格式
+ */
+public enum DataFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    DataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * 按名称解析，忽略大小写
+     */
+    public static DataFormat of(String value) {
+        for (DataFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessException(ResultCode.VALIDATE_FAIL.getCode(), "不支持的数据格式: " + value);
+    }
+
+    /**
+     * 按文件扩展名判断格式，.csv为CSV，其余（.ndjson、.jsonl等）按NDJSON处理
+     */
+    public static DataFormat fromFileName(String fileName) {
+        if (fileName != null && fileName.toLowerCase().endsWith(".csv")) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,188 @@
+package top.jiuxialb.javafx.common;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 导入任务状态
+ * 由导入线程更新，查询接口随时读取，计数器均为线程安全
+ */
+public class ImportJob implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 最多保留的错误行数，避免错误过多时占用大量内存
+     */
+    public static final int MAX_ERRORS = 1000;
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id;
+    private final String fileName;
+    private final DataFormat format;
+    private final long totalBytes;
+    private final long createdAt = System.currentTimeMillis();
+
+    private volatile Status status = Status.PENDING;
+    private volatile String message;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong processedRows = new AtomicLong();
+    private final AtomicLong importedRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private final List<ErrorRow> errors = Collections.synchronizedList(new ArrayList<>());
+
+    public ImportJob(String id, String fileName, DataFormat format, long totalBytes) {
+        this.id = id;
+        this.fileName = fileName;
+        this.format = format;
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * 记录一条失败的数据行
+     */
+    public void addError(long line, String error, String raw) {
+        failedRows.incrementAndGet();
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new ErrorRow(line, error, raw));
+        }
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    /**
+     * 按已读取字节数估算的进度百分比
+     */
+    public double getProgress() {
+        if (status == Status.COMPLETED) {
+            return 100.0;
+        }
+        return totalBytes <= 0 ? 0.0 : Math.min(100.0, bytesRead.get() * 100.0 / totalBytes);
+    }
+
+    // Getter和Setter方法
+    public String getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public DataFormat getFormat() {
+        return format;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(long finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead.set(bytesRead);
+    }
+
+    public long getProcessedRows() {
+        return processedRows.get();
+    }
+
+    public void addProcessedRows(long rows) {
+        processedRows.addAndGet(rows);
+    }
+
+    public long getImportedRows() {
+        return importedRows.get();
+    }
+
+    public void addImportedRows(long rows) {
+        importedRows.addAndGet(rows);
+    }
+
+    public long getFailedRows() {
+        return failedRows.get();
+    }
+
+    public List<ErrorRow> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    /**
+     * 失败的数据行
+     */
+    public static class ErrorRow implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long line;
+        private final String error;
+        private final String raw;
+
+        public ErrorRow(long line, String error, String raw) {
+            this.line = line;
+            this.error = error;
+            this.raw = raw;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public String getRaw() {
+            return raw;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package top.jiuxialb.javafx.common;
+
+import top.jiuxialb.javafx.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 基于主键的分页游标
+ * 对外以Base64URL编码的不透明字符串传递，客户端不应解析其内容
+ */
+public final class KeysetCursor {
+
+    private static final String FORWARD = "n";
+    private static final String BACKWARD = "p";
+
+    /**
+     * 定位主键
+     */
+    private final long id;
+
+    /**
+     * true表示向后翻页（id大于定位主键），false表示向前翻页
+     */
+    private final boolean forward;
+
+    private KeysetCursor(long id, boolean forward) {
+        this.id = id;
+        this.forward = forward;
+    }
+
+    /**
+     * 指向id之后记录的游标
+     */
+    public static KeysetCursor after(long id) {
+        return new KeysetCursor(id, true);
+    }
+
+    /**
+     * 指向id之前记录的游标
+     */
+    public static KeysetCursor before(long id) {
+        return new KeysetCursor(id, false);
+    }
+
+    /**
+     * 解析游标
+     * @param cursor 游标字符串，为空表示从第一条记录开始
+     * @return 游标对象，cursor为空时返回null
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            String direction = raw.substring(0, separator);
+            long id = Long.parseLong(raw.substring(separator + 1));
+            if (FORWARD.equals(direction)) {
+                return after(id);
+            } else if (BACKWARD.equals(direction)) {
+                return before(id);
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            // 落到下方统一抛出
+        }
+        throw new BusinessException(ResultCode.VALIDATE_FAIL.getCode(), "无效的分页游标");
+    }
+
+    /**
+     * 编码为不透明字符串
+     */
+    public String encode() {
+        String raw = (forward ? FORWARD : BACKWARD) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public boolean isForward() {
+        return forward;
+    }
+}
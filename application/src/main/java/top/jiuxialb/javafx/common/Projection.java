@@ -0,0 +1,35 @@
+package top.jiuxialb.javafx.common;
+
+import java.util.Set;
+
+/**
+ * 按fields参数裁剪的响应数据
+ * 序列化时与value本身的输出相同，其中的用户只输出选定的字段（见UserJsonModule）
+ * @param <T> 用户、用户列表或分页结果
+ */
+public final class Projection<T> {
+
+    private final T value;
+
+    /**
+     * 选定的字段，null表示全部字段
+     */
+    private final Set<UserField> fields;
+
+    private Projection(T value, Set<UserField> fields) {
+        this.value = value;
+        this.fields = fields;
+    }
+
+    public static <T> Projection<T> of(T value, Set<UserField> fields) {
+        return new Projection<>(value, fields);
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public Set<UserField> getFields() {
+        return fields;
+    }
+}
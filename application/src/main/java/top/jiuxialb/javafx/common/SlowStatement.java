@@ -0,0 +1,102 @@
+package top.jiuxialb.javafx.common;
+
+import java.io.Serializable;
+
+/**
+ * 单条MyBatis语句的耗时统计快照，附带最慢一次执行的SQL和参数
+ */
+public class SlowStatement implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String statement;
+    private String type;
+    private long count;
+    private long slowCount;
+    private double avgMillis;
+    private double maxMillis;
+    private String slowestSql;
+    private String slowestParameters;
+    private long slowestAt;
+    private String plan;
+
+    // Getter和Setter方法
+    public String getStatement() {
+        return statement;
+    }
+
+    public void setStatement(String statement) {
+        this.statement = statement;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getSlowCount() {
+        return slowCount;
+    }
+
+    public void setSlowCount(long slowCount) {
+        this.slowCount = slowCount;
+    }
+
+    public double getAvgMillis() {
+        return avgMillis;
+    }
+
+    public void setAvgMillis(double avgMillis) {
+        this.avgMillis = avgMillis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public void setMaxMillis(double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    public String getSlowestSql() {
+        return slowestSql;
+    }
+
+    public void setSlowestSql(String slowestSql) {
+        this.slowestSql = slowestSql;
+    }
+
+    public String getSlowestParameters() {
+        return slowestParameters;
+    }
+
+    public void setSlowestParameters(String slowestParameters) {
+        this.slowestParameters = slowestParameters;
+    }
+
+    public long getSlowestAt() {
+        return slowestAt;
+    }
+
+    public void setSlowestAt(long slowestAt) {
+        this.slowestAt = slowestAt;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    public void setPlan(String plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,73 @@
+package top.jiuxialb.javafx.common;
+
+import top.jiuxialb.javafx.exception.BusinessException;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 用户字段，用于fields参数指定查询和返回的列
+ */
+public enum UserField {
+    ID("id", "id"),
+    NAME("name", "name"),
+    EMAIL("email", "email"),
+    AGE("age", "age"),
+    CREATED_AT("createdAt", "created_at"),
+    UPDATED_AT("updatedAt", "updated_at");
+
+    private final String property;
+    private final String column;
+
+    UserField(String property, String column) {
+        this.property = property;
+        this.column = column;
+    }
+
+    /**
+     * 解析逗号分隔的属性名，例如id,name,email
+     * ID始终包含在内，分页、缓存和前端的行标识都依赖它
+     * @return 字段集合，fields为空时返回null表示全部字段
+     */
+    public static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<UserField> result = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String property = name.trim();
+            if (!property.isEmpty()) {
+                result.add(of(property));
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * 按属性名查找，区分大小写
+     */
+    public static UserField of(String property) {
+        for (UserField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new BusinessException(ResultCode.VALIDATE_FAIL.getCode(), "不支持的字段: " + property);
+    }
+
+    /**
+     * 字段对应的数据库列，用于QueryWrapper.select
+     */
+    public static String[] columns(Set<UserField> fields) {
+        return fields.stream().map(UserField::getColumn).toArray(String[]::new);
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+}
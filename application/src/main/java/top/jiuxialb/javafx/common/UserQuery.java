@@ -0,0 +1,159 @@
+package top.jiuxialb.javafx.common;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import top.jiuxialb.javafx.exception.BusinessException;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户列表的过滤和排序条件
+ * 每个过滤字段都有对应的索引（见V4__Add_user_filter_indexes.sql），时间按yyyy-MM-ddTHH:mm:ss传入
+ */
+public class UserQuery {
+
+    /**
+     * 姓名前缀
+     */
+    private String name;
+
+    /**
+     * 最小年龄（含）
+     */
+    private Integer ageMin;
+
+    /**
+     * 最大年龄（含）
+     */
+    private Integer ageMax;
+
+    /**
+     * 创建时间起点（含）
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    /**
+     * 创建时间终点（不含）
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    /**
+     * 更新时间起点（含）
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+
+    /**
+     * 更新时间终点（不含）
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+
+    /**
+     * 排序，格式为“字段”或“字段,desc”，例如createdAt,desc；默认按id升序
+     */
+    private String sort;
+
+    /**
+     * 排序字段，只允许UserField中的字段
+     */
+    public UserField getSortField() {
+        if (sort == null || sort.isBlank()) {
+            return UserField.ID;
+        }
+        int comma = sort.indexOf(',');
+        String property = (comma < 0 ? sort : sort.substring(0, comma)).trim();
+        try {
+            return UserField.of(property);
+        } catch (BusinessException e) {
+            throw new BusinessException(ResultCode.VALIDATE_FAIL.getCode(), "不支持的排序字段: " + property);
+        }
+    }
+
+    /**
+     * 是否降序
+     */
+    public boolean isDescending() {
+        if (sort == null) {
+            return false;
+        }
+        int comma = sort.indexOf(',');
+        if (comma < 0) {
+            return false;
+        }
+        String direction = sort.substring(comma + 1).trim();
+        if ("desc".equalsIgnoreCase(direction)) {
+            return true;
+        }
+        if ("asc".equalsIgnoreCase(direction) || direction.isEmpty()) {
+            return false;
+        }
+        throw new BusinessException(ResultCode.VALIDATE_FAIL.getCode(), "不支持的排序方向: " + direction);
+    }
+
+    // Getter和Setter方法
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getAgeMin() {
+        return ageMin;
+    }
+
+    public void setAgeMin(Integer ageMin) {
+        this.ageMin = ageMin;
+    }
+
+    public Integer getAgeMax() {
+        return ageMax;
+    }
+
+    public void setAgeMax(Integer ageMax) {
+        this.ageMax = ageMax;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public LocalDateTime getUpdatedFrom() {
+        return updatedFrom;
+    }
+
+    public void setUpdatedFrom(LocalDateTime updatedFrom) {
+        this.updatedFrom = updatedFrom;
+    }
+
+    public LocalDateTime getUpdatedTo() {
+        return updatedTo;
+    }
+
+    public void setUpdatedTo(LocalDateTime updatedTo) {
+        this.updatedTo = updatedTo;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+}
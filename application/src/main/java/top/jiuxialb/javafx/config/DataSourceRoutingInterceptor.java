@@ -0,0 +1,32 @@
+package top.jiuxialb.javafx.config;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * 按语句类型为非事务中的MyBatis调用选择读/写连接
+ * 连接由LazyConnectionDataSourceProxy延迟到语句执行时才获取，因此在这里设置路由即可生效
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class DataSourceRoutingInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        SqliteRoutingDataSource.Route route = ms.getSqlCommandType() == SqlCommandType.SELECT
+                ? SqliteRoutingDataSource.Route.READER
+                : SqliteRoutingDataSource.Route.WRITER;
+        return SqliteRoutingDataSource.withRoute(route, invocation::proceed);
+    }
+}
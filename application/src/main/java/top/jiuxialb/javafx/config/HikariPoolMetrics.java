@@ -0,0 +1,63 @@
+package top.jiuxialb.javafx.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import top.jiuxialb.javafx.metrics.Counter;
+import top.jiuxialb.javafx.metrics.MetricsRegistry;
+import top.jiuxialb.javafx.metrics.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 连接池指标
+ * 等待连接的耗时最能反映写连接上的排队情况：写连接只有1个，写请求较多时耗时主要花在这里而不是SQL本身。
+ */
+public class HikariPoolMetrics implements MetricsTrackerFactory {
+
+    private final MetricsRegistry metricsRegistry;
+
+    public HikariPoolMetrics(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        // PoolStats按固定间隔刷新，抓取时读取不会每次都遍历连接池
+        metricsRegistry.gauge("db_pool_connections_active", "使用中的连接数", poolStats::getActiveConnections, "pool", poolName);
+        metricsRegistry.gauge("db_pool_connections_idle", "空闲连接数", poolStats::getIdleConnections, "pool", poolName);
+        metricsRegistry.gauge("db_pool_connections_pending", "等待连接的线程数", poolStats::getPendingThreads, "pool", poolName);
+        metricsRegistry.gauge("db_pool_connections_max", "最大连接数", poolStats::getMaxConnections, "pool", poolName);
+        return new Tracker(
+                metricsRegistry.timer("db_pool_acquire_seconds", "获取连接的等待时间", "pool", poolName),
+                metricsRegistry.timer("db_pool_usage_seconds", "连接从借出到归还的时间", "pool", poolName),
+                metricsRegistry.counter("db_pool_timeouts_total", "获取连接超时次数", "pool", poolName));
+    }
+
+    private static final class Tracker implements IMetricsTracker {
+        private final Timer acquire;
+        private final Timer usage;
+        private final Counter timeouts;
+
+        private Tracker(Timer acquire, Timer usage, Counter timeouts) {
+            this.acquire = acquire;
+            this.usage = usage;
+            this.timeouts = timeouts;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquire.record(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usage.record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package top.jiuxialb.javafx.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 懒加载（spring.main.lazy-initialization）模式下仍需在启动时创建的Bean
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    /**
+     * 数据库迁移必须在启动时执行，否则首次访问时表结构可能还不是最新的
+     */
+    @Bean
+    static LazyInitializationExcludeFilter flywayLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FlywayMigrationInitializer.class);
+    }
+}
@@ -6,19 +6,27 @@ import org.apache.ibatis.type.MappedJdbcTypes;
 import org.apache.ibatis.type.MappedTypes;
 
 import java.sql.*;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
+/**
+ * LocalDateTime与SQLite文本时间的转换
+ * 同时注册为未指定jdbcType时的默认处理器，实体字段和QueryWrapper条件中的时间参数都经过这里，
+ * 统一按yyyy-MM-dd HH:mm:ss写入和绑定，与库中已有数据（见V4、V6迁移脚本）的格式一致，按文本比较和排序才正确
+ */
 @MappedTypes(LocalDateTime.class)
-@MappedJdbcTypes(JdbcType.TIMESTAMP)
+@MappedJdbcTypes(value = JdbcType.TIMESTAMP, includeNullJdbcType = true)
 public class LocalDateTimeTypeHandler extends BaseTypeHandler<LocalDateTime> {
 
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @Override
     public void setNonNullParameter(PreparedStatement ps, int i, LocalDateTime parameter, JdbcType jdbcType) throws SQLException {
-        ps.setTimestamp(i, Timestamp.valueOf(parameter));
+        // 直接绑定格式化后的文本，不依赖驱动的date_class/date_string_format设置
+        ps.setString(i, FORMATTER.format(parameter));
     }
 
     @Override
@@ -54,6 +62,9 @@ public class LocalDateTimeTypeHandler extends BaseTypeHandler<LocalDateTime> {
                 return LocalDateTime.parse(timestampStr, FORMATTER);
             } else if (timestampObj instanceof Date) {
                 return ((Date) timestampObj).toLocalDate().atStartOfDay();
+            } else if (timestampObj instanceof Number) {
+                // 早期版本按sqlite-jdbc默认方式把时间存成了毫秒时间戳
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(((Number) timestampObj).longValue()), ZoneId.systemDefault());
             }
         } catch (DateTimeParseException | ClassCastException e) {
             // 如果解析失败，尝试其他格式
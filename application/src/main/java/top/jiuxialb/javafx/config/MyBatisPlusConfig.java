@@ -3,10 +3,15 @@ package top.jiuxialb.javafx.config;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import top.jiuxialb.javafx.metrics.MetricsRegistry;
 
 @Configuration
+@EnableConfigurationProperties(SlowQueryProperties.class)
 public class MyBatisPlusConfig {
     
     /**
@@ -19,4 +24,22 @@ public class MyBatisPlusConfig {
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.SQLITE));
         return interceptor;
     }
+
+    /**
+     * 按语句统计执行耗时
+     */
+    @Bean
+    public StatementMetricsInterceptor statementMetricsInterceptor(MetricsRegistry metricsRegistry) {
+        return new StatementMetricsInterceptor(metricsRegistry);
+    }
+
+    /**
+     * 慢SQL日志和最慢语句统计
+     * 排在最前，成为最内层的插件，才能看到分页插件改写后的语句
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SlowQueryInterceptor slowQueryInterceptor(SlowQueryProperties slowQueryProperties) {
+        return new SlowQueryInterceptor(slowQueryProperties);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,281 @@
+package top.jiuxialb.javafx.config;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import top.jiuxialb.javafx.common.SlowStatement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 慢SQL记录
+ * 在Executor上计时，包含获取连接（事务外的语句）、JDBC执行和结果映射，语句和参数直接取自调用参数，
+ * 不需要拆开其他插件的代理。注册在MybatisPlusInterceptor之内（见MyBatisPlusConfig），
+ * 分页插件以改写后的BoundSql调用6个参数的query，记录的是真正执行的语句，count语句单独统计。
+ * 超过阈值的语句连同绑定参数写入SLOW_SQL日志，
+ * 同一语句每隔一段时间在同一连接上执行一次EXPLAIN QUERY PLAN，附带在日志中。
+ * 每条语句的执行次数、平均和最大耗时常驻内存，按最大耗时排序即为最慢语句列表。
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class SlowQueryInterceptor implements Interceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryInterceptor.class);
+
+    /**
+     * 慢SQL日志，由logback-spring.xml输出到单独的文件
+     */
+    private static final Logger slowLogger = LoggerFactory.getLogger("SLOW_SQL");
+
+    /**
+     * 日志中最多输出的参数个数和SQL长度，批量写入的语句可能有上千个参数
+     */
+    private static final int MAX_LOGGED_PARAMETERS = 20;
+    private static final int MAX_LOGGED_SQL_LENGTH = 2000;
+    private static final int MAX_LOGGED_VALUE_LENGTH = 100;
+
+    private final SlowQueryProperties properties;
+
+    private final Map<String, StatementStats> stats = new ConcurrentHashMap<>();
+
+    public SlowQueryInterceptor(SlowQueryProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (!properties.isEnabled()) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        Object result = invocation.proceed();
+        long elapsed = System.nanoTime() - start;
+
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        StatementStats statementStats = stats.computeIfAbsent(ms.getId(), id -> new StatementStats(ms));
+        statementStats.record(elapsed);
+        if (elapsed >= TimeUnit.MILLISECONDS.toNanos(properties.getThresholdMs())) {
+            BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+            slow((Executor) invocation.getTarget(), ms, args[1], boundSql, statementStats, elapsed);
+        }
+        return result;
+    }
+
+    /**
+     * 最慢的语句，按最大耗时降序
+     */
+    public List<SlowStatement> top(int limit) {
+        return stats.values().stream()
+                .map(StatementStats::snapshot)
+                .sorted(Comparator.comparingDouble(SlowStatement::getMaxMillis).reversed())
+                .limit(limit > 0 ? limit : properties.getTopSize())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    private void slow(Executor executor, MappedStatement ms, Object parameter, BoundSql boundSql,
+                      StatementStats statementStats, long elapsed) {
+        String sql = truncate(boundSql.getSql().replaceAll("\\s+", " ").trim(), MAX_LOGGED_SQL_LENGTH);
+        String parameters = parameters(ms.getConfiguration(), boundSql);
+        String plan = null;
+        if (properties.isExplain() && statementStats.type != SqlCommandType.INSERT
+                && statementStats.shouldExplain(TimeUnit.SECONDS.toNanos(properties.getExplainIntervalSeconds()))) {
+            plan = explain(executor, ms, parameter, boundSql);
+        }
+        statementStats.slow(elapsed, sql, parameters, plan);
+
+        String millis = String.format("%.1f", elapsed / 1e6);
+        if (plan != null) {
+            slowLogger.warn("{}ms {}\n  SQL: {}\n  参数: {}\n  执行计划:\n{}",
+                    millis, statementStats.statement, sql, parameters, plan);
+        } else {
+            slowLogger.warn("{}ms {}\n  SQL: {}\n  参数: {}",
+                    millis, statementStats.statement, sql, parameters);
+        }
+    }
+
+    /**
+     * 在原语句所在的连接上用相同参数执行EXPLAIN QUERY PLAN，失败时只记录调试日志，不影响原语句
+     */
+    private String explain(Executor executor, MappedStatement ms, Object parameter, BoundSql boundSql) {
+        try {
+            Connection connection = executor.getTransaction().getConnection();
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN QUERY PLAN " + boundSql.getSql())) {
+                ms.getConfiguration().newParameterHandler(ms, parameter, boundSql).setParameters(explain);
+                try (ResultSet rs = explain.executeQuery()) {
+                    return formatPlan(rs);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            logger.debug("EXPLAIN QUERY PLAN执行失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 按id/parent列还原执行计划的树形结构
+     */
+    private static String formatPlan(ResultSet rs) throws SQLException {
+        Map<Integer, Integer> depths = new HashMap<>();
+        StringBuilder plan = new StringBuilder();
+        while (rs.next()) {
+            int id = rs.getInt("id");
+            int parent = rs.getInt("parent");
+            int depth = depths.getOrDefault(parent, -1) + 1;
+            depths.put(id, depth);
+            plan.append("    ").append("  ".repeat(depth)).append(rs.getString("detail")).append('\n');
+        }
+        return plan.toString();
+    }
+
+    /**
+     * 按DefaultParameterHandler的取值方式读取绑定参数
+     */
+    private static String parameters(Configuration configuration, BoundSql boundSql) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        Object parameterObject = boundSql.getParameterObject();
+        MetaObject metaObject = null;
+        List<String> values = new ArrayList<>(Math.min(mappings.size(), MAX_LOGGED_PARAMETERS));
+        for (ParameterMapping mapping : mappings) {
+            if (values.size() == MAX_LOGGED_PARAMETERS) {
+                break;
+            }
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                value = metaObject.getValue(property);
+            }
+            values.add(value instanceof CharSequence
+                    ? "'" + truncate(value.toString(), MAX_LOGGED_VALUE_LENGTH) + "'"
+                    : String.valueOf(value));
+        }
+        String result = "[" + String.join(", ", values) + "]";
+        return mappings.size() > MAX_LOGGED_PARAMETERS ? result + " 共" + mappings.size() + "个参数" : result;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength) + "...";
+    }
+
+    /**
+     * 单条语句的统计，计数在热路径上无锁累加，慢SQL样本只在超过阈值时加锁更新
+     */
+    private static final class StatementStats {
+        private final String statement;
+        private final SqlCommandType type;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+        private final LongAdder slowCount = new LongAdder();
+        // 初始值保证第一次慢SQL就会执行EXPLAIN
+        private final AtomicLong lastExplainNanos = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+
+        private long slowestNanos;
+        private String slowestSql;
+        private String slowestParameters;
+        private long slowestAt;
+        private volatile String plan;
+
+        private StatementStats(MappedStatement ms) {
+            String id = ms.getId();
+            int method = id.lastIndexOf('.');
+            int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+            this.statement = id.substring(type + 1);
+            this.type = ms.getSqlCommandType();
+        }
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        /**
+         * 距上次EXPLAIN超过间隔时返回true，并发时只有一个线程得到true
+         */
+        private boolean shouldExplain(long intervalNanos) {
+            long now = System.nanoTime();
+            long last = lastExplainNanos.get();
+            return now - last >= intervalNanos && lastExplainNanos.compareAndSet(last, now);
+        }
+
+        private synchronized void slow(long nanos, String sql, String parameters, String plan) {
+            slowCount.increment();
+            if (plan != null) {
+                this.plan = plan;
+            }
+            if (nanos > slowestNanos) {
+                slowestNanos = nanos;
+                slowestSql = sql;
+                slowestParameters = parameters;
+                slowestAt = System.currentTimeMillis();
+            }
+        }
+
+        private synchronized SlowStatement snapshot() {
+            SlowStatement snapshot = new SlowStatement();
+            long executions = count.sum();
+            snapshot.setStatement(statement);
+            snapshot.setType(type.name());
+            snapshot.setCount(executions);
+            snapshot.setSlowCount(slowCount.sum());
+            snapshot.setAvgMillis(executions == 0 ? 0 : totalNanos.sum() / 1e6 / executions);
+            snapshot.setMaxMillis(maxNanos.get() / 1e6);
+            snapshot.setSlowestSql(slowestSql);
+            snapshot.setSlowestParameters(slowestParameters);
+            snapshot.setSlowestAt(slowestAt);
+            snapshot.setPlan(plan);
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package top.jiuxialb.javafx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 慢SQL日志参数
+ * 对应配置前缀 app.sql.slow-query
+ */
+@ConfigurationProperties(prefix = "app.sql.slow-query")
+public class SlowQueryProperties {
+
+    /**
+     * 是否统计语句耗时并记录慢SQL
+     */
+    private boolean enabled = true;
+
+    /**
+     * 慢SQL阈值（毫秒），执行时间超过该值的语句写入慢SQL日志
+     */
+    private long thresholdMs = 200;
+
+    /**
+     * 是否为慢SQL附带EXPLAIN QUERY PLAN输出
+     */
+    private boolean explain = true;
+
+    /**
+     * 同一语句两次EXPLAIN之间的最短间隔（秒），执行计划只在这个间隔内采样一次
+     */
+    private long explainIntervalSeconds = 300;
+
+    /**
+     * 最慢语句列表的默认条数
+     */
+    private int topSize = 20;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getThresholdMs() {
+        return thresholdMs;
+    }
+
+    public void setThresholdMs(long thresholdMs) {
+        this.thresholdMs = thresholdMs;
+    }
+
+    public boolean isExplain() {
+        return explain;
+    }
+
+    public void setExplain(boolean explain) {
+        this.explain = explain;
+    }
+
+    public long getExplainIntervalSeconds() {
+        return explainIntervalSeconds;
+    }
+
+    public void setExplainIntervalSeconds(long explainIntervalSeconds) {
+        this.explainIntervalSeconds = explainIntervalSeconds;
+    }
+
+    public int getTopSize() {
+        return topSize;
+    }
+
+    public void setTopSize(int topSize) {
+        this.topSize = topSize;
+    }
+}
@@ -0,0 +1,130 @@
+package top.jiuxialb.javafx.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteConfig;
+import top.jiuxialb.javafx.metrics.MetricsRegistry;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.util.Properties;
+
+/**
+ * SQLite数据源配置
+ * 一个写连接 + N个只读连接，统一设置WAL、同步级别、缓存等PRAGMA
+ */
+@Configuration
+@EnableConfigurationProperties(SqliteProperties.class)
+@ConditionalOnProperty(prefix = "app.sqlite", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqliteDataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqliteDataSourceConfig.class);
+
+    private static final String URL_PREFIX = "jdbc:sqlite:";
+
+    /**
+     * 时间统一按文本存储，与建表语句中CURRENT_TIMESTAMP默认值的格式保持一致，保证比较和排序正确
+     */
+    private static final String DATE_STRING_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    @Bean(destroyMethod = "close")
+    public SqliteRoutingDataSource sqliteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                           SqliteProperties sqliteProperties,
+                                                           MetricsRegistry metricsRegistry) {
+        String url = dataSourceProperties.determineUrl();
+        createDatabaseDirectory(url);
+
+        // 写连接只保留1个：SQLite同一时刻只允许一个写事务，多个写连接只会互相等待锁
+        HikariConfig writerConfig = new HikariConfig();
+        writerConfig.setPoolName("sqlite-writer");
+        writerConfig.setJdbcUrl(url);
+        writerConfig.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        writerConfig.setMaximumPoolSize(1);
+        writerConfig.setMinimumIdle(1);
+        writerConfig.setConnectionTimeout(sqliteProperties.getConnectionTimeout());
+        writerConfig.setDataSourceProperties(connectionProperties(sqliteProperties, false));
+        writerConfig.setMetricsTrackerFactory(new HikariPoolMetrics(metricsRegistry));
+
+        HikariConfig readerConfig = new HikariConfig();
+        readerConfig.setPoolName("sqlite-reader");
+        readerConfig.setJdbcUrl(url);
+        readerConfig.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        readerConfig.setMaximumPoolSize(Math.max(1, sqliteProperties.getReaderPoolSize()));
+        readerConfig.setMinimumIdle(1);
+        readerConfig.setConnectionTimeout(sqliteProperties.getConnectionTimeout());
+        readerConfig.setReadOnly(true);
+        readerConfig.setDataSourceProperties(connectionProperties(sqliteProperties, true));
+        readerConfig.setMetricsTrackerFactory(new HikariPoolMetrics(metricsRegistry));
+
+        // 先创建写连接池，保证数据库文件和WAL模式在只读连接打开之前就绪
+        HikariDataSource writer = new HikariDataSource(writerConfig);
+        HikariDataSource reader = new HikariDataSource(readerConfig);
+        logger.info("SQLite数据源已初始化: journal_mode={}, synchronous={}, 读连接数={}",
+                sqliteProperties.getJournalMode(), sqliteProperties.getSynchronous(), readerConfig.getMaximumPoolSize());
+        return new SqliteRoutingDataSource(writer, reader);
+    }
+
+    /**
+     * 对外暴露的数据源
+     * 延迟到第一条语句执行时才真正获取连接，此时事务的只读标记和语句类型都已确定，路由才能生效
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(SqliteRoutingDataSource sqliteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(sqliteRoutingDataSource);
+    }
+
+    @Bean
+    public DataSourceRoutingInterceptor dataSourceRoutingInterceptor() {
+        return new DataSourceRoutingInterceptor();
+    }
+
+    /**
+     * 生成连接参数，sqlite-jdbc在打开连接时按这些参数执行PRAGMA
+     */
+    private Properties connectionProperties(SqliteProperties sqliteProperties, boolean readOnly) {
+        SQLiteConfig config = new SQLiteConfig();
+        // 只读连接必须在打开时指定，之后无法再切换
+        config.setReadOnly(readOnly);
+        Properties properties = config.toProperties();
+        if (!readOnly) {
+            // journal_mode和synchronous只对写连接有意义，WAL模式会持久化在数据库文件中
+            properties.setProperty("journal_mode", sqliteProperties.getJournalMode());
+            properties.setProperty("synchronous", sqliteProperties.getSynchronous());
+        }
+        properties.setProperty("busy_timeout", String.valueOf(sqliteProperties.getBusyTimeout()));
+        properties.setProperty("cache_size", String.valueOf(sqliteProperties.getCacheSize()));
+        properties.setProperty("mmap_size", String.valueOf(sqliteProperties.getMmapSize()));
+        properties.setProperty("temp_store", sqliteProperties.getTempStore());
+        properties.setProperty("date_class", "TEXT");
+        properties.setProperty("date_string_format", DATE_STRING_FORMAT);
+        return properties;
+    }
+
+    /**
+     * 确保数据库文件所在目录存在，web-only模式下不会经过JavaFX初始化流程
+     */
+    private void createDatabaseDirectory(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX) || url.contains(":memory:")) {
+            return;
+        }
+        String path = url.substring(URL_PREFIX.length());
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        File parent = new File(path).getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            logger.error("创建数据库目录失败: {}", parent);
+        }
+    }
+}
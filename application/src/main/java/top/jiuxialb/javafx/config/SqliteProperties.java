@@ -0,0 +1,129 @@
+package top.jiuxialb.javafx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * SQLite连接与性能参数
+ * 对应配置前缀 app.sqlite
+ */
+@ConfigurationProperties(prefix = "app.sqlite")
+public class SqliteProperties {
+
+    /**
+     * 是否启用读写分离连接池及调优参数，关闭后回退到Spring Boot默认数据源
+     */
+    private boolean enabled = true;
+
+    /**
+     * 日志模式，WAL模式下读不阻塞写
+     */
+    private String journalMode = "WAL";
+
+    /**
+     * 同步级别，WAL模式下NORMAL不会损坏数据库，只在掉电时可能丢失最后的事务
+     */
+    private String synchronous = "NORMAL";
+
+    /**
+     * 内存映射I/O大小（字节），0表示关闭
+     */
+    private long mmapSize = 256L * 1024 * 1024;
+
+    /**
+     * 页缓存大小，负数表示KiB，正数表示页数
+     */
+    private int cacheSize = -32000;
+
+    /**
+     * 临时表和临时索引的存放位置：DEFAULT、FILE、MEMORY
+     */
+    private String tempStore = "MEMORY";
+
+    /**
+     * 数据库被锁定时的等待时间（毫秒）
+     */
+    private int busyTimeout = 5000;
+
+    /**
+     * 只读连接池大小，写连接固定为1个
+     */
+    private int readerPoolSize = 4;
+
+    /**
+     * 从连接池获取连接的超时时间（毫秒）
+     */
+    private long connectionTimeout = 30000;
+
+    // Getter和Setter方法
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getJournalMode() {
+        return journalMode;
+    }
+
+    public void setJournalMode(String journalMode) {
+        this.journalMode = journalMode;
+    }
+
+    public String getSynchronous() {
+        return synchronous;
+    }
+
+    public void setSynchronous(String synchronous) {
+        this.synchronous = synchronous;
+    }
+
+    public long getMmapSize() {
+        return mmapSize;
+    }
+
+    public void setMmapSize(long mmapSize) {
+        this.mmapSize = mmapSize;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public String getTempStore() {
+        return tempStore;
+    }
+
+    public void setTempStore(String tempStore) {
+        this.tempStore = tempStore;
+    }
+
+    public int getBusyTimeout() {
+        return busyTimeout;
+    }
+
+    public void setBusyTimeout(int busyTimeout) {
+        this.busyTimeout = busyTimeout;
+    }
+
+    public int getReaderPoolSize() {
+        return readerPoolSize;
+    }
+
+    public void setReaderPoolSize(int readerPoolSize) {
+        this.readerPoolSize = readerPoolSize;
+    }
+
+    public long getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(long connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+}
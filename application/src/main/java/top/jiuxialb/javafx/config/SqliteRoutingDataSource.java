@@ -0,0 +1,83 @@
+package top.jiuxialb.javafx.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * SQLite读写分离数据源
+ * 单个写连接串行化所有写操作，只读连接池在WAL模式下可与写操作并发
+ *
+ * 路由规则：
+ * 1. 处于Spring事务中时，只读事务走读连接池，其余走写连接
+ * 2. 不在事务中时，按当前MyBatis语句类型（由DataSourceRoutingInterceptor设置）路由
+ * 3. 其他情况（如Flyway迁移）默认走写连接
+ */
+public class SqliteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    /**
+     * 路由目标
+     */
+    public enum Route {
+        WRITER, READER
+    }
+
+    private static final ThreadLocal<Route> ROUTE_HINT = new ThreadLocal<>();
+
+    private final HikariDataSource writer;
+    private final HikariDataSource reader;
+
+    public SqliteRoutingDataSource(HikariDataSource writer, HikariDataSource reader) {
+        this.writer = writer;
+        this.reader = reader;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Route.WRITER, writer);
+        targets.put(Route.READER, reader);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(writer);
+    }
+
+    /**
+     * 在指定路由下执行操作，结束后恢复之前的路由
+     */
+    public static <T> T withRoute(Route route, Callable<T> action) throws Exception {
+        Route previous = ROUTE_HINT.get();
+        ROUTE_HINT.set(route);
+        try {
+            return action.call();
+        } finally {
+            if (previous == null) {
+                ROUTE_HINT.remove();
+            } else {
+                ROUTE_HINT.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.READER : Route.WRITER;
+        }
+        Route hint = ROUTE_HINT.get();
+        return hint != null ? hint : Route.WRITER;
+    }
+
+    public HikariDataSource getWriter() {
+        return writer;
+    }
+
+    public HikariDataSource getReader() {
+        return reader;
+    }
+
+    @Override
+    public void close() {
+        reader.close();
+        writer.close();
+    }
+}
@@ -0,0 +1,72 @@
+package top.jiuxialb.javafx.config;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import top.jiuxialb.javafx.metrics.MetricsRegistry;
+import top.jiuxialb.javafx.metrics.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按MappedStatement统计MyBatis语句耗时
+ * 包含获取连接、执行SQL和结果映射；分页插件生成的count语句（*_mpCount）单独计时。
+ * 游标查询只统计打开游标的耗时。
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+    private final MetricsRegistry metricsRegistry;
+
+    private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public StatementMetricsInterceptor(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = invocation.proceed();
+            success = true;
+            return result;
+        } finally {
+            timers(ms)[success ? 0 : 1].recordSince(start);
+        }
+    }
+
+    private Timer[] timers(MappedStatement ms) {
+        return timers.computeIfAbsent(ms.getId(), id -> {
+            String statement = shortName(id);
+            String type = ms.getSqlCommandType().name().toLowerCase();
+            return new Timer[]{
+                    metricsRegistry.timer("mybatis_statement_seconds", "MyBatis语句耗时",
+                            "statement", statement, "type", type, "outcome", "success"),
+                    metricsRegistry.timer("mybatis_statement_seconds", "MyBatis语句耗时",
+                            "statement", statement, "type", type, "outcome", "error")
+            };
+        });
+    }
+
+    /**
+     * 去掉Mapper的包名，例如 UserMapper.selectById
+     */
+    private static String shortName(String id) {
+        int method = id.lastIndexOf('.');
+        int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+        return id.substring(type + 1);
+    }
+}
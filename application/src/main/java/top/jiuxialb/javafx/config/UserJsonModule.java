@@ -0,0 +1,248 @@
+package top.jiuxialb.javafx.config;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.stereotype.Component;
+import top.jiuxialb.javafx.common.Projection;
+import top.jiuxialb.javafx.common.Result;
+import top.jiuxialb.javafx.common.UserField;
+import top.jiuxialb.javafx.entity.User;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * Result、User和分页结果的JSON序列化
+ * 默认的Bean序列化器每个字段都要经过反射调用getter和属性过滤；这几个类型出现在每个响应里，
+ * 这里按固定字段顺序直接写入生成器，字段名预先编码（SerializedString缓存了转义后的UTF-8字节），
+ * 时间格式化不经过DateTimeFormatter。输出与默认序列化一致，只有分页结果去掉了前端用不到的
+ * MyBatis-Plus内部字段（orders、optimizeCountSql、searchCount、maxLimit、countId）。
+ * Projection中的用户只输出选定的字段，选定的字段通过序列化上下文的属性传给UserSerializer。
+ * 输出缓冲区由Jackson的BufferRecycler复用，不需要额外处理。
+ *
+ * Spring Boot会把容器中的Module注册到自动配置的ObjectMapper，HTTP响应、桌面桥接和SSE事件都使用它。
+ */
+@Component
+public class UserJsonModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+    private static final SerializedString CODE = new SerializedString("code");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString AGE = new SerializedString("age");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+
+    private static final SerializedString RECORDS = new SerializedString("records");
+    private static final SerializedString TOTAL = new SerializedString("total");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString CURRENT = new SerializedString("current");
+    private static final SerializedString PAGES = new SerializedString("pages");
+
+    public UserJsonModule() {
+        super("UserJsonModule");
+        addSerializer(new ResultSerializer());
+        addSerializer(new UserSerializer());
+        addSerializer(new PageSerializer());
+        addSerializer(new ProjectionSerializer());
+    }
+
+    /**
+     * 按声明顺序写出code、message、data、timestamp，data按实际类型查找序列化器（由Jackson缓存）
+     */
+    @SuppressWarnings("rawtypes")
+    static final class ResultSerializer extends StdSerializer<Result> {
+        private static final long serialVersionUID = 1L;
+
+        ResultSerializer() {
+            super(Result.class);
+        }
+
+        @Override
+        public void serialize(Result result, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(result);
+            gen.writeFieldName(CODE);
+            gen.writeNumber(result.getCode());
+            gen.writeFieldName(MESSAGE);
+            gen.writeString(result.getMessage());
+            gen.writeFieldName(DATA);
+            writeValue(result.getData(), gen, provider);
+            gen.writeFieldName(TIMESTAMP);
+            gen.writeNumber(result.getTimestamp());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class UserSerializer extends StdSerializer<User> {
+        private static final long serialVersionUID = 1L;
+
+        UserSerializer() {
+            super(User.class);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void serialize(User user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Set<UserField> fields = (Set<UserField>) provider.getAttribute(UserField.class);
+            gen.writeStartObject(user);
+            if (fields == null || fields.contains(UserField.ID)) {
+                gen.writeFieldName(ID);
+                if (user.getId() != null) {
+                    gen.writeNumber(user.getId());
+                } else {
+                    gen.writeNull();
+                }
+            }
+            if (fields == null || fields.contains(UserField.NAME)) {
+                gen.writeFieldName(NAME);
+                gen.writeString(user.getName());
+            }
+            if (fields == null || fields.contains(UserField.EMAIL)) {
+                gen.writeFieldName(EMAIL);
+                gen.writeString(user.getEmail());
+            }
+            if (fields == null || fields.contains(UserField.AGE)) {
+                gen.writeFieldName(AGE);
+                if (user.getAge() != null) {
+                    gen.writeNumber(user.getAge());
+                } else {
+                    gen.writeNull();
+                }
+            }
+            char[] buffer = null;
+            if (fields == null || fields.contains(UserField.CREATED_AT)) {
+                gen.writeFieldName(CREATED_AT);
+                buffer = writeDateTime(user.getCreatedAt(), buffer, gen, provider);
+            }
+            if (fields == null || fields.contains(UserField.UPDATED_AT)) {
+                gen.writeFieldName(UPDATED_AT);
+                writeDateTime(user.getUpdatedAt(), buffer, gen, provider);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * 只输出前端PageData用到的records、total、size、current、pages
+     * 未统计总数（searchCount为false）时total和pages输出null
+     */
+    @SuppressWarnings("rawtypes")
+    static final class PageSerializer extends StdSerializer<IPage> {
+        private static final long serialVersionUID = 1L;
+
+        PageSerializer() {
+            super(IPage.class);
+        }
+
+        @Override
+        public void serialize(IPage page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(page);
+            gen.writeFieldName(RECORDS);
+            writeValue(page.getRecords(), gen, provider);
+            gen.writeFieldName(TOTAL);
+            if (page.searchCount()) {
+                gen.writeNumber(page.getTotal());
+            } else {
+                gen.writeNull();
+            }
+            gen.writeFieldName(SIZE);
+            gen.writeNumber(page.getSize());
+            gen.writeFieldName(CURRENT);
+            gen.writeNumber(page.getCurrent());
+            gen.writeFieldName(PAGES);
+            if (page.searchCount()) {
+                gen.writeNumber(page.getPages());
+            } else {
+                gen.writeNull();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * 输出value本身，期间其中的用户只输出选定的字段
+     */
+    @SuppressWarnings("rawtypes")
+    static final class ProjectionSerializer extends StdSerializer<Projection> {
+        private static final long serialVersionUID = 1L;
+
+        ProjectionSerializer() {
+            super(Projection.class);
+        }
+
+        @Override
+        public void serialize(Projection projection, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Object previous = provider.getAttribute(UserField.class);
+            provider.setAttribute(UserField.class, projection.getFields());
+            try {
+                writeValue(projection.getValue(), gen, provider);
+            } finally {
+                provider.setAttribute(UserField.class, previous);
+            }
+        }
+    }
+
+    private static void writeValue(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value == null) {
+            provider.defaultSerializeNull(gen);
+            return;
+        }
+        JsonSerializer<Object> serializer = provider.findValueSerializer(value.getClass());
+        serializer.serialize(value, gen, provider);
+    }
+
+    /**
+     * 按ISO_LOCAL_DATE_TIME输出（与JavaTimeModule的默认输出一致），数据库中的时间精确到秒，
+     * 直接写入复用的字符数组；配置为输出时间戳时交给默认序列化器，带纳秒或超出4位年份时使用ISO_LOCAL_DATE_TIME
+     * @return 可供下次复用的字符数组
+     */
+    private static char[] writeDateTime(LocalDateTime value, char[] buffer, JsonGenerator gen,
+                                        SerializerProvider provider) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return buffer;
+        }
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(value, gen);
+            return buffer;
+        }
+        if (value.getNano() != 0 || value.getYear() < 0 || value.getYear() > 9999) {
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return buffer;
+        }
+        char[] chars = buffer != null ? buffer : new char[19];
+        digits(chars, 0, value.getYear(), 4);
+        chars[4] = '-';
+        digits(chars, 5, value.getMonthValue(), 2);
+        chars[7] = '-';
+        digits(chars, 8, value.getDayOfMonth(), 2);
+        chars[10] = 'T';
+        digits(chars, 11, value.getHour(), 2);
+        chars[13] = ':';
+        digits(chars, 14, value.getMinute(), 2);
+        chars[16] = ':';
+        digits(chars, 17, value.getSecond(), 2);
+        gen.writeString(chars, 0, 19);
+        return chars;
+    }
+
+    private static void digits(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
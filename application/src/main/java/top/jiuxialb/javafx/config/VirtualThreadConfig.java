@@ -0,0 +1,61 @@
+package top.jiuxialb.javafx.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.Executors;
+
+/**
+ * 虚拟线程模式
+ * 开启后Tomcat请求处理、Spring异步任务（含MVC异步请求）以及导入任务都运行在虚拟线程上。
+ *
+ * 虚拟线程本身不限制并发，数据库并发由SQLite连接池约束：写连接固定1个，读连接数由
+ * app.sqlite.reader-pool-size决定，其余线程在获取连接时排队，最长等待app.sqlite.connection-timeout。
+ * sqlite-jdbc通过JNI访问数据库，执行期间虚拟线程会固定（pin）在载体线程上，
+ * 因此连接总数应小于载体线程数（默认等于CPU核数），否则数据库繁忙时其他请求会得不到调度。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    public VirtualThreadConfig(ObjectProvider<SqliteProperties> sqliteProperties) {
+        int carriers = Runtime.getRuntime().availableProcessors();
+        SqliteProperties properties = sqliteProperties.getIfAvailable();
+        if (properties != null && properties.getReaderPoolSize() + 1 >= carriers) {
+            logger.warn("SQLite连接数({})不小于载体线程数({})，数据库繁忙时虚拟线程可能无法调度，建议调小app.sqlite.reader-pool-size",
+                    properties.getReaderPoolSize() + 1, carriers);
+        }
+        logger.info("已启用虚拟线程模式");
+    }
+
+    /**
+     * Tomcat每个请求使用一个新的虚拟线程，server.tomcat.threads.*配置不再生效
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory()));
+    }
+
+    /**
+     * 替换Spring Boot默认的applicationTaskExecutor线程池，@Async和MVC异步请求都会使用它
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-vt-", 0).factory()));
+    }
+}
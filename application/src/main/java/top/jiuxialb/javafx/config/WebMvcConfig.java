@@ -0,0 +1,27 @@
+package top.jiuxialb.javafx.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import top.jiuxialb.javafx.handler.ConditionalGetInterceptor;
+
+/**
+ * Spring MVC配置
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 只对读取用户数据的接口做条件请求，导出、导入进度、缓存统计和变更事件流不依赖表版本
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns("/api/users", "/api/users/page", "/api/users/search",
+                        "/api/users/*", "/api/users/email/*")
+                .excludePathPatterns("/api/users/export", "/api/users/import/**", "/api/users/cache/**",
+                        "/api/users/changes");
+    }
+}
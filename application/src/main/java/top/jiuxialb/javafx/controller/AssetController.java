@@ -0,0 +1,77 @@
+package top.jiuxialb.javafx.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import top.jiuxialb.javafx.cache.AssetCache;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 前端静态资源，web-only模式下可直接用浏览器访问 http://localhost:8080/
+ * 资源来自内存缓存，带哈希的构建产物使用immutable长期缓存，其余资源每次通过ETag协商
+ */
+@Controller
+public class AssetController {
+
+    @Autowired
+    private AssetCache assetCache;
+
+    @GetMapping({"/", "/index.html", "/favicon.ico", "/assets/**"})
+    public ResponseEntity<byte[]> getAsset(
+            HttpServletRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        AssetCache.Asset asset = assetCache.get("/".equals(path) ? "index.html" : path.substring(1));
+        if (asset == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        AssetCache.Variant variant = asset.select(acceptEncoding);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(variant.getEtag());
+        headers.setCacheControl(asset.isImmutable()
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache());
+        if (asset.hasEncodings()) {
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        }
+        if (matches(ifNoneMatch, variant.getEtag())) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        headers.setContentType(asset.getMediaType());
+        headers.setContentLength(variant.getContent().length);
+        if (variant.getEncoding() != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, variant.getEncoding());
+        }
+        return new ResponseEntity<>(variant.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * If-None-Match可能是*或以逗号分隔的多个ETag，比较时忽略弱校验前缀
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || etag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
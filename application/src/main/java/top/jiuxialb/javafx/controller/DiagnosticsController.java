@@ -0,0 +1,42 @@
+package top.jiuxialb.javafx.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import top.jiuxialb.javafx.common.Result;
+import top.jiuxialb.javafx.common.SlowStatement;
+import top.jiuxialb.javafx.config.SlowQueryInterceptor;
+
+import java.util.List;
+
+/**
+ * 运行时诊断接口
+ */
+@RestController
+@RequestMapping("/api/diagnostics")
+public class DiagnosticsController {
+
+    @Autowired
+    private SlowQueryInterceptor slowQueryInterceptor;
+
+    /**
+     * 最慢的MyBatis语句，按最大耗时降序
+     * @param limit 返回条数，不传时使用app.sql.slow-query.top-size
+     */
+    @GetMapping("/slow-statements")
+    public Result<List<SlowStatement>> getSlowStatements(@RequestParam(defaultValue = "0") int limit) {
+        return Result.success(slowQueryInterceptor.top(limit));
+    }
+
+    /**
+     * 清空语句耗时统计
+     */
+    @DeleteMapping("/slow-statements")
+    public Result<Void> resetSlowStatements() {
+        slowQueryInterceptor.reset();
+        return Result.success();
+    }
+}
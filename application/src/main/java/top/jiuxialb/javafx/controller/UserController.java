@@ -1,20 +1,44 @@
 package top.jiuxialb.javafx.controller;
 
-import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import top.jiuxialb.javafx.cache.CacheStats;
+import top.jiuxialb.javafx.cache.UserCache;
+import top.jiuxialb.javafx.common.BatchResult;
+import top.jiuxialb.javafx.common.CursorPage;
+import top.jiuxialb.javafx.common.DataFormat;
+import top.jiuxialb.javafx.common.ImportJob;
+import top.jiuxialb.javafx.common.Projection;
 import top.jiuxialb.javafx.common.Result;
+import top.jiuxialb.javafx.common.ResultCode;
+import top.jiuxialb.javafx.common.UserField;
+import top.jiuxialb.javafx.common.UserQuery;
 import top.jiuxialb.javafx.entity.User;
+import top.jiuxialb.javafx.event.SseUserChangeListener;
+import top.jiuxialb.javafx.event.UserChangeFeed;
+import top.jiuxialb.javafx.exception.BusinessException;
 import top.jiuxialb.javafx.exception.UserNotFoundException;
+import top.jiuxialb.javafx.handler.ErrorReporter;
+import top.jiuxialb.javafx.service.UserExportService;
+import top.jiuxialb.javafx.service.UserImportService;
 import top.jiuxialb.javafx.service.UserService;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/users")
@@ -22,68 +46,228 @@ public class UserController {
     
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
     
+    /**
+     * 分页单页最大条数
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    /**
+     * 游标分页单页最大条数
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+    
+    /**
+     * 搜索单页最大条数
+     */
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private UserCache userCache;
+    
+    @Autowired
+    private UserExportService userExportService;
+    
+    @Autowired
+    private UserImportService userImportService;
+    
+    @Autowired
+    private UserChangeFeed userChangeFeed;
+    
+    @Autowired
+    private ErrorReporter errorReporter;
+    
+    /**
+     * SSE连接超时时间，超时后浏览器会自动重连并续传
+     */
+    @Value("${app.user.change-feed.sse-timeout-ms:1800000}")
+    private long changeFeedTimeoutMs;
+    
     /**
      * 获取所有用户
+     * @param query 过滤和排序条件，见UserQuery
+     * @param fields 逗号分隔的字段，例如id,name,email，只查询和返回这些列；不传时返回全部字段
      */
     @GetMapping
-    public Result<List<User>> getAllUsers() {
+    public Result<Projection<List<User>>> getAllUsers(
+            UserQuery query,
+            @RequestParam(required = false) String fields) {
+        Set<UserField> selected = UserField.parse(fields);
         try {
-            List<User> users = userService.list();
-            return Result.success(users);
+            List<User> users = userService.listUsers(query, selected);
+            return Result.success(Projection.of(users, selected));
+        } catch (BusinessException e) {
+            throw e; // Re-throw to be handled by GlobalExceptionHandler
         } catch (Exception e) {
-            // 打印堆栈信息
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter(sw);
-            e.printStackTrace(pw);
-            logger.error("获取用户列表失败: {}", sw.toString());
+            errorReporter.unexpected("获取用户列表失败", e);
             return Result.fail("获取用户列表失败");
         }
     }
     
+    /**
+     * 流式导出全部用户
+     * 逐行读取并直接写入响应流，不在内存中累积，适合导出大表
+     * @param format ndjson或csv
+     * @param gzip 是否压缩，未指定时按请求的Accept-Encoding决定
+     */
+    @GetMapping("/export")
+    public void exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Boolean gzip,
+            @RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        DataFormat exportFormat = DataFormat.of(format);
+        boolean compress = gzip != null ? gzip : acceptEncoding != null && acceptEncoding.contains("gzip");
+        
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader("Content-Disposition", "attachment; filename=\"users." + exportFormat.getExtension() + "\"");
+        if (compress) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+        
+        OutputStream out = response.getOutputStream();
+        GZIPOutputStream gzipOut = compress ? new GZIPOutputStream(out, 64 * 1024) : null;
+        try {
+            long rows = userExportService.export(exportFormat, gzipOut != null ? gzipOut : out);
+            if (gzipOut != null) {
+                gzipOut.finish();
+            }
+            out.flush();
+            logger.info("导出用户完成: format={}, gzip={}, rows={}", format, compress, rows);
+        } catch (IOException e) {
+            // 响应已开始写出，无法再返回错误结果，只记录日志
+            logger.warn("导出用户中断: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 上传文件并启动后台导入任务，立即返回任务信息
+     * 文件先落盘再增量解析，通过GET /import/{jobId}查询进度和错误行
+     * @param format ndjson或csv，未指定时按文件扩展名判断
+     */
+    @PostMapping("/import")
+    public Result<ImportJob> importUsers(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format) throws IOException {
+        if (file.isEmpty()) {
+            throw new BusinessException(ResultCode.VALIDATE_FAIL.getCode(), "导入文件不能为空");
+        }
+        String fileName = file.getOriginalFilename();
+        DataFormat importFormat = format != null ? DataFormat.of(format) : DataFormat.fromFileName(fileName);
+        Path tempFile = Files.createTempFile("user-import-", "." + importFormat.getExtension());
+        try {
+            file.transferTo(tempFile);
+            ImportJob job = userImportService.startImport(tempFile, fileName, importFormat, true);
+            return Result.success(job, "导入任务已开始");
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+    
+    /**
+     * 查询导入任务进度
+     */
+    @GetMapping("/import/{jobId}")
+    public Result<ImportJob> getImportJob(@PathVariable String jobId) {
+        ImportJob job = userImportService.getJob(jobId);
+        if (job == null) {
+            throw new BusinessException(404, "导入任务不存在");
+        }
+        return Result.success(job);
+    }
+    
     /**
      * 分页获取用户
+     * @param size 每页条数，限制在1到MAX_PAGE_SIZE之间
+     * @param query 过滤和排序条件，见UserQuery
+     * @param withTotal 是否返回总条数，为false时total和pages为null
+     * @param fields 逗号分隔的字段，只查询和返回这些列；不传时返回全部字段
      */
     @GetMapping("/page")
-    public Result<Page<User>> getUsersByPage(
+    public Result<Projection<Page<User>>> getUsersByPage(
             @RequestParam(defaultValue = "1") Integer page,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            UserQuery query,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(required = false) String fields) {
+        Set<UserField> selected = UserField.parse(fields);
         try {
-            Page<User> pageObj = new Page<>(page, size);
-            Page<User> result = userService.page(pageObj);
-            return Result.success(result);
+            int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            Page<User> result = userService.pageUsers(Math.max(1, page), pageSize, query, withTotal, selected);
+            return Result.success(Projection.of(result, selected));
+        } catch (BusinessException e) {
+            throw e; // Re-throw to be handled by GlobalExceptionHandler
         } catch (Exception e) {
-            // 打印堆栈信息
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter(sw);
-            e.printStackTrace(pw);
-            logger.error("分页获取用户失败: {}", sw.toString());
+            errorReporter.unexpected("分页获取用户失败", e);
             return Result.fail("分页获取用户失败");
         }
     }
     
+    /**
+     * 游标分页获取用户
+     * 首页传空的cursor，之后传上次返回的nextCursor/prevCursor，任意深度的翻页耗时一致
+     */
+    @GetMapping(value = "/page", params = "cursor")
+    public Result<CursorPage<User>> getUsersByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        try {
+            int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+            return Result.success(userService.pageByCursor(cursor, pageSize, withTotal));
+        } catch (BusinessException e) {
+            throw e; // Re-throw to be handled by GlobalExceptionHandler
+        } catch (Exception e) {
+            errorReporter.unexpected("游标分页获取用户失败", e);
+            return Result.fail("游标分页获取用户失败");
+        }
+    }
+    
+    /**
+     * 按姓名或邮箱搜索用户，结果按相关度排序并分页
+     */
+    @GetMapping("/search")
+    public Result<Page<User>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+        if (q.isBlank()) {
+            return Result.validateFail("搜索关键字不能为空");
+        }
+        try {
+            int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+            return Result.success(userService.search(q, Math.max(1, page), pageSize, fuzzy));
+        } catch (Exception e) {
+            errorReporter.unexpected("搜索用户失败", e);
+            return Result.fail("搜索用户失败");
+        }
+    }
+    
     /**
      * 根据ID获取用户
+     * @param fields 逗号分隔的字段，只返回这些字段；单行查询读取完整记录以便复用用户缓存
      */
     @GetMapping("/{id}")
-    public Result<User> getUserById(@PathVariable Long id) {
+    public Result<Projection<User>> getUserById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields) {
+        Set<UserField> selected = UserField.parse(fields);
         try {
-            User user = userService.getById(id);
+            User user = userService.getUserById(id);
             if (user != null) {
-                return Result.success(user);
+                return Result.success(Projection.of(user, selected));
             } else {
                 throw new UserNotFoundException(id);
             }
         } catch (UserNotFoundException e) {
             throw e; // Re-throw to be handled by GlobalExceptionHandler
         } catch (Exception e) {
-            // 打印堆栈信息
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter(sw);
-            e.printStackTrace(pw);
-            logger.error("获取用户详情失败: {}", sw.toString());
+            errorReporter.unexpected("获取用户详情失败", e);
             return Result.fail("获取用户详情失败");
         }
     }
@@ -94,18 +278,12 @@ public class UserController {
     @PostMapping
     public Result<User> createUser(@Valid @RequestBody User user) {
         try {
-            boolean saved = userService.save(user);
-            if (saved) {
-                return Result.success(user, "用户创建成功");
-            } else {
-                return Result.fail("用户创建失败");
-            }
+            User created = userService.createUser(user);
+            return Result.success(created, "用户创建成功");
+        } catch (BusinessException e) {
+            throw e; // Re-throw to be handled by GlobalExceptionHandler
         } catch (Exception e) {
-            // 打印堆栈信息
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter(sw);
-            e.printStackTrace(pw);
-            logger.error("创建用户失败: {}", sw.toString());
+            errorReporter.unexpected("创建用户失败", e);
             return Result.fail("创建用户失败");
         }
     }
@@ -116,28 +294,12 @@ public class UserController {
     @PutMapping("/{id}")
     public Result<User> updateUser(@PathVariable Long id, @Valid @RequestBody User user) {
         try {
-            user.setId(id);
-            boolean updated = userService.updateById(user);
-            if (updated) {
-                // 再次查询获取更新后的用户信息
-                User updatedUser = userService.getById(id);
-                return Result.success(updatedUser, "用户更新成功");
-            } else {
-                // 如果没有更新成功，检查用户是否存在
-                User existingUser = userService.getById(id);
-                if (existingUser == null) {
-                    throw new UserNotFoundException(id);
-                }
-                return Result.fail("用户更新失败");
-            }
-        } catch (UserNotFoundException e) {
+            User updatedUser = userService.updateUser(id, user);
+            return Result.success(updatedUser, "用户更新成功");
+        } catch (BusinessException e) {
             throw e; // Re-throw to be handled by GlobalExceptionHandler
         } catch (Exception e) {
-            // 打印堆栈信息
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter(sw);
-            e.printStackTrace(pw);
-            logger.error("更新用户失败: {}", sw.toString());
+            errorReporter.unexpected("更新用户失败", e);
             return Result.fail("更新用户失败");
         }
     }
@@ -148,45 +310,99 @@ public class UserController {
     @DeleteMapping("/{id}")
     public Result<Void> deleteUser(@PathVariable Long id) {
         try {
-            boolean removed = userService.removeById(id);
-            if (removed) {
-                return Result.success(null, "用户删除成功");
-            } else {
-                throw new UserNotFoundException(id);
-            }
-        } catch (UserNotFoundException e) {
+            userService.deleteUser(id);
+            return Result.success(null, "用户删除成功");
+        } catch (BusinessException e) {
             throw e; // Re-throw to be handled by GlobalExceptionHandler
         } catch (Exception e) {
-            // 打印堆栈信息
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter(sw);
-            e.printStackTrace(pw);
-            logger.error("删除用户失败: {}", sw.toString());
+            errorReporter.unexpected("删除用户失败", e);
             return Result.fail("删除用户失败");
         }
     }
     
+    /**
+     * 批量创建用户
+     */
+    @PostMapping("/batch")
+    public Result<BatchResult> createUsers(@RequestBody List<User> users) {
+        try {
+            BatchResult result = userService.createUsers(users);
+            return Result.success(result, "批量创建完成");
+        } catch (Exception e) {
+            errorReporter.unexpected("批量创建用户失败", e);
+            return Result.fail("批量创建用户失败");
+        }
+    }
+    
+    /**
+     * 批量更新用户
+     */
+    @PutMapping("/batch")
+    public Result<BatchResult> updateUsers(@RequestBody List<User> users) {
+        try {
+            BatchResult result = userService.updateUsers(users);
+            return Result.success(result, "批量更新完成");
+        } catch (Exception e) {
+            errorReporter.unexpected("批量更新用户失败", e);
+            return Result.fail("批量更新用户失败");
+        }
+    }
+    
+    /**
+     * 批量删除用户
+     */
+    @DeleteMapping("/batch")
+    public Result<BatchResult> deleteUsers(@RequestBody List<Long> ids) {
+        try {
+            BatchResult result = userService.deleteUsers(ids);
+            return Result.success(result, "批量删除完成");
+        } catch (Exception e) {
+            errorReporter.unexpected("批量删除用户失败", e);
+            return Result.fail("批量删除用户失败");
+        }
+    }
+    
     /**
      * 根据邮箱查询用户
      */
     @GetMapping("/email/{email}")
     public Result<User> getUserByEmail(@PathVariable String email) {
         try {
-            QueryWrapper<User> queryWrapper = new QueryWrapper<>();
-            queryWrapper.eq("email", email);
-            User user = userService.getOne(queryWrapper);
+            User user = userService.getUserByEmail(email);
             if (user != null) {
                 return Result.success(user);
             } else {
                 return Result.fail(404, "用户不存在");
             }
         } catch (Exception e) {
-            // 打印堆栈信息
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter(sw);
-            e.printStackTrace(pw);
-            logger.error("根据邮箱查询用户失败: {}", sw.toString());
+            errorReporter.unexpected("根据邮箱查询用户失败", e);
             return Result.fail("根据邮箱查询用户失败");
         }
     }
+    
+    /**
+     * 用户缓存统计，用于评估缓存容量和TTL设置
+     */
+    @GetMapping("/cache/stats")
+    public Result<CacheStats> getCacheStats() {
+        return Result.success(userCache.stats());
+    }
+    
+    /**
+     * 用户变更事件流（SSE）
+     * 客户端先拉取数据，再订阅变更并按事件增量更新；收到reset事件时重新拉取。
+     * 断线重连时浏览器自动带上Last-Event-ID，也可以用since参数指定最后处理的序号。
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeChanges(
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(changeFeedTimeoutMs);
+        UserChangeFeed.Subscription subscription = userChangeFeed.subscribe(
+                lastEventId != null ? lastEventId : since, new SseUserChangeListener(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,434 @@
+package top.jiuxialb.javafx.desktop;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import javafx.application.Platform;
+import javafx.scene.web.WebEngine;
+import netscape.javascript.JSObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import top.jiuxialb.javafx.common.Result;
+import top.jiuxialb.javafx.common.ResultCode;
+import top.jiuxialb.javafx.common.UserQuery;
+import top.jiuxialb.javafx.controller.HealthController;
+import top.jiuxialb.javafx.controller.UserController;
+import top.jiuxialb.javafx.entity.User;
+import top.jiuxialb.javafx.event.UserChangeEvent;
+import top.jiuxialb.javafx.event.UserChangeFeed;
+import top.jiuxialb.javafx.exception.BusinessException;
+import top.jiuxialb.javafx.handler.ErrorReporter;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 进程内API桥接，注入为window.javaApi
+ * 桌面模式下前端的axios请求不再经过HTTP回环，而是以JSON批量提交到这里，按路径分发给控制器方法，
+ * 返回与REST接口相同的Result结构。web-only模式仍使用REST接口。
+ *
+ * 协议：前端调用submit提交一批请求[{id, method, url, params, data}]，
+ * 全部处理完成后回调window.__javaApiResolve，参数为[{id, status, body}]。
+ * 解析、执行和序列化都在后台线程进行，FX应用线程只负责两次跨语言调用。
+ */
+public class ApiBridge {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiBridge.class);
+
+    private static final int THREAD_POOL_SIZE = 4;
+
+    private final WebEngine engine;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserController userController;
+    private final HealthController healthController;
+    private final ErrorReporter errorReporter;
+    private final ExecutorService executor;
+    private final List<Route> routes = new ArrayList<>();
+    private final UserChangeFeed.Subscription changeSubscription;
+
+    public ApiBridge(ApplicationContext applicationContext, WebEngine engine) {
+        this.engine = engine;
+        this.objectMapper = applicationContext.getBean(ObjectMapper.class);
+        this.validator = applicationContext.getBean(Validator.class);
+        this.userController = applicationContext.getBean(UserController.class);
+        this.healthController = applicationContext.getBean(HealthController.class);
+        this.errorReporter = applicationContext.getBean(ErrorReporter.class);
+
+        boolean virtualThreads = applicationContext.getEnvironment()
+                .getProperty("app.virtual-threads.enabled", Boolean.class, false);
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("api-bridge-", 0).factory()
+                : Thread.ofPlatform().name("api-bridge-", 0).daemon(true).factory();
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(threadFactory)
+                : Executors.newFixedThreadPool(THREAD_POOL_SIZE, threadFactory);
+
+        registerRoutes();
+        this.changeSubscription = applicationContext.getBean(UserChangeFeed.class).subscribe(null, new ChangeListener());
+    }
+
+    /**
+     * 与UserController、HealthController的映射保持一致，固定路径需注册在路径变量之前
+     */
+    private void registerRoutes() {
+        route("GET", "/health", request -> healthController.health());
+
+        route("GET", "/users", request -> userController.getAllUsers(request.userQuery(), request.param("fields")));
+        route("GET", "/users/page", request -> request.params.containsKey("cursor")
+                ? userController.getUsersByCursor(request.param("cursor"),
+                        request.intParam("size", 10), request.boolParam("withTotal", false))
+                : userController.getUsersByPage(request.intParam("page", 1), request.intParam("size", 10),
+                        request.userQuery(), request.boolParam("withTotal", true), request.param("fields")));
+        route("GET", "/users/search", request -> userController.searchUsers(request.requiredParam("q"),
+                request.intParam("page", 1), request.intParam("size", 10), request.boolParam("fuzzy", false)));
+        route("GET", "/users/cache/stats", request -> userController.getCacheStats());
+        route("GET", "/users/import/{jobId}", request -> userController.getImportJob(request.pathVariable("jobId")));
+        route("GET", "/users/email/{email}", request -> userController.getUserByEmail(request.pathVariable("email")));
+        route("GET", "/users/{id}", request -> userController.getUserById(request.longPathVariable("id"),
+                request.param("fields")));
+
+        route("POST", "/users/batch", request -> userController.createUsers(
+                request.body(new TypeReference<List<User>>() {})));
+        route("PUT", "/users/batch", request -> userController.updateUsers(
+                request.body(new TypeReference<List<User>>() {})));
+        route("DELETE", "/users/batch", request -> userController.deleteUsers(
+                request.body(new TypeReference<List<Long>>() {})));
+
+        route("POST", "/users", request -> userController.createUser(request.validBody(User.class)));
+        route("PUT", "/users/{id}", request -> userController.updateUser(
+                request.longPathVariable("id"), request.validBody(User.class)));
+        route("DELETE", "/users/{id}", request -> userController.deleteUser(request.longPathVariable("id")));
+    }
+
+    /**
+     * 由前端调用，提交一批请求后立即返回
+     * @param batch 请求数组的JSON
+     */
+    public void submit(String batch) {
+        executor.execute(() -> handleBatch(batch));
+    }
+
+    /**
+     * 关闭后台线程，未完成的请求不再回调
+     */
+    public void shutdown() {
+        changeSubscription.cancel();
+        executor.shutdownNow();
+    }
+
+    private void handleBatch(String batch) {
+        JsonNode requests;
+        try {
+            requests = objectMapper.readTree(batch);
+        } catch (JsonProcessingException e) {
+            logger.error("无法解析桥接请求: {}", e.getOriginalMessage());
+            return;
+        }
+
+        List<CompletableFuture<ObjectNode>> responses = new ArrayList<>(requests.size());
+        for (JsonNode request : requests) {
+            responses.add(CompletableFuture.supplyAsync(() -> dispatch(request), executor));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).thenRun(() -> {
+            ArrayNode payload = objectMapper.createArrayNode();
+            responses.forEach(response -> payload.add(response.join()));
+            resolve(payload.toString());
+        });
+    }
+
+    /**
+     * 执行单个请求，异常按GlobalExceptionHandler的方式转换为Result
+     */
+    private ObjectNode dispatch(JsonNode node) {
+        ObjectNode response = objectMapper.createObjectNode();
+        response.set("id", node.get("id"));
+        String method = node.path("method").asText("GET").toUpperCase();
+        String url = node.path("url").asText("");
+        int query = url.indexOf('?');
+        String path = query >= 0 ? url.substring(0, query) : url;
+
+        int status = 200;
+        Object body;
+        try {
+            ApiRequest request = match(method, path, node);
+            if (request == null) {
+                status = 404;
+                body = Result.fail(404, "接口不存在: " + method + " " + path);
+            } else {
+                body = request.route.handler.handle(request);
+            }
+        } catch (BusinessException e) {
+            // 与GlobalExceptionHandler的处理保持一致
+            if (e.getCause() != null) {
+                errorReporter.unexpected("桥接请求处理失败: " + method + " " + path, e);
+            } else {
+                errorReporter.expected(e.getCode());
+            }
+            body = Result.fail(e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            errorReporter.unexpected("桥接请求处理失败: " + method + " " + path, e);
+            body = Result.fail("服务器内部错误，请联系管理员");
+        }
+        response.put("status", status);
+        response.set("body", objectMapper.valueToTree(body));
+        return response;
+    }
+
+    private ApiRequest match(String method, String path, JsonNode node) {
+        String[] segments = split(path);
+        for (Route route : routes) {
+            if (!route.method.equals(method) || route.segments.length != segments.length) {
+                continue;
+            }
+            Map<String, String> variables = new HashMap<>();
+            boolean matched = true;
+            for (int i = 0; i < segments.length && matched; i++) {
+                String expected = route.segments[i];
+                if (expected.startsWith("{") && expected.endsWith("}")) {
+                    variables.put(expected.substring(1, expected.length() - 1), segments[i]);
+                } else {
+                    matched = expected.equals(segments[i]);
+                }
+            }
+            if (matched) {
+                return new ApiRequest(route, variables, queryParams(node.path("url").asText(""), node.get("params")),
+                        node.get("data"));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 合并URL中的查询参数与params对象，忽略值为null的参数
+     */
+    private static Map<String, String> queryParams(String url, JsonNode params) {
+        Map<String, String> result = new HashMap<>();
+        int query = url.indexOf('?');
+        if (query >= 0) {
+            for (String pair : url.substring(query + 1).split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    result.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+                }
+            }
+        }
+        if (params != null && params.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!field.getValue().isNull()) {
+                    result.put(field.getKey(), field.getValue().asText());
+                }
+            }
+        }
+        return result;
+    }
+
+    private void resolve(String payload) {
+        Platform.runLater(() -> {
+            try {
+                JSObject window = (JSObject) engine.executeScript("window");
+                window.call("__javaApiResolve", payload);
+            } catch (Exception e) {
+                // 页面已重新加载，回调函数不存在
+                logger.warn("桥接响应回调失败: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 把用户变更事件推送给页面，替代web-only模式下的SSE连接
+     * 前端通过window.__javaUserChanges接收事件数组，页面与事件流在同一进程中，不需要续传
+     */
+    private final class ChangeListener implements UserChangeFeed.Listener {
+
+        @Override
+        public void onEvents(List<UserChangeEvent> events) throws Exception {
+            String payload = objectMapper.writeValueAsString(events);
+            Platform.runLater(() -> {
+                try {
+                    JSObject window = (JSObject) engine.executeScript("window");
+                    if (!"undefined".equals(window.getMember("__javaUserChanges"))) {
+                        window.call("__javaUserChanges", payload);
+                    }
+                } catch (Exception e) {
+                    logger.warn("用户变更推送失败: {}", e.getMessage());
+                }
+            });
+        }
+
+        /**
+         * 推送积压时会收到重置通知，页面没有单独的重置回调，以BULK事件通知页面重新拉取
+         */
+        @Override
+        public void onReset(long sequence) throws Exception {
+            onEvents(List.of(new UserChangeEvent(sequence, UserChangeEvent.Type.BULK, null, null, System.currentTimeMillis())));
+        }
+    }
+
+    private void route(String method, String path, Handler handler) {
+        routes.add(new Route(method, split(path), handler));
+    }
+
+    private static String[] split(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(ApiRequest request) throws Exception;
+    }
+
+    private static final class Route {
+        private final String method;
+        private final String[] segments;
+        private final Handler handler;
+
+        private Route(String method, String[] segments, Handler handler) {
+            this.method = method;
+            this.segments = segments;
+            this.handler = handler;
+        }
+    }
+
+    /**
+     * 一次桥接请求，提供与@RequestParam、@PathVariable、@Valid @RequestBody对应的参数读取
+     */
+    private final class ApiRequest {
+        private final Route route;
+        private final Map<String, String> variables;
+        private final Map<String, String> params;
+        private final JsonNode data;
+
+        private ApiRequest(Route route, Map<String, String> variables, Map<String, String> params, JsonNode data) {
+            this.route = route;
+            this.variables = variables;
+            this.params = params;
+            this.data = data;
+        }
+
+        private String param(String name) {
+            return params.get(name);
+        }
+
+        private String requiredParam(String name) {
+            String value = params.get(name);
+            if (value == null) {
+                throw new BusinessException(ResultCode.VALIDATE_FAIL.getCode(), "缺少参数: " + name);
+            }
+            return value;
+        }
+
+        private int intParam(String name, int defaultValue) {
+            String value = params.get(name);
+            try {
+                return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new BusinessException(ResultCode.VALIDATE_FAIL.getCode(), "参数格式不正确: " + name);
+            }
+        }
+
+        private boolean boolParam(String name, boolean defaultValue) {
+            String value = params.get(name);
+            return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+        }
+
+        private Integer integerParam(String name) {
+            String value = params.get(name);
+            return value == null || value.isEmpty() ? null : intParam(name, 0);
+        }
+
+        private LocalDateTime dateTimeParam(String name) {
+            String value = params.get(name);
+            try {
+                return value == null || value.isEmpty() ? null : LocalDateTime.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new BusinessException(ResultCode.VALIDATE_FAIL.getCode(), "参数格式不正确: " + name);
+            }
+        }
+
+        /**
+         * 与UserController中按属性名绑定的UserQuery对应
+         */
+        private UserQuery userQuery() {
+            UserQuery query = new UserQuery();
+            query.setName(param("name"));
+            query.setAgeMin(integerParam("ageMin"));
+            query.setAgeMax(integerParam("ageMax"));
+            query.setCreatedFrom(dateTimeParam("createdFrom"));
+            query.setCreatedTo(dateTimeParam("createdTo"));
+            query.setUpdatedFrom(dateTimeParam("updatedFrom"));
+            query.setUpdatedTo(dateTimeParam("updatedTo"));
+            query.setSort(param("sort"));
+            return query;
+        }
+
+        private String pathVariable(String name) {
+            return decode(variables.get(name));
+        }
+
+        private Long longPathVariable(String name) {
+            try {
+                return Long.valueOf(variables.get(name));
+            } catch (NumberFormatException e) {
+                throw new BusinessException(ResultCode.VALIDATE_FAIL.getCode(), "参数格式不正确: " + name);
+            }
+        }
+
+        private <T> T body(TypeReference<T> type) {
+            return body(objectMapper.getTypeFactory().constructType(type));
+        }
+
+        private <T> T body(JavaType type) {
+            if (data == null || data.isNull()) {
+                throw new BusinessException(ResultCode.VALIDATE_FAIL.getCode(), "请求体不能为空");
+            }
+            try {
+                return objectMapper.convertValue(data, type);
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException(ResultCode.VALIDATE_FAIL.getCode(), "请求体格式不正确");
+            }
+        }
+
+        /**
+         * 读取请求体并按实体约束校验，失败信息与参数校验异常的处理保持一致
+         */
+        private <T> T validBody(Class<T> type) {
+            T value = body(objectMapper.getTypeFactory().constructType(type));
+            Set<ConstraintViolation<T>> violations = validator.validate(value);
+            if (!violations.isEmpty()) {
+                StringBuilder errorMessage = new StringBuilder();
+                for (ConstraintViolation<T> violation : violations) {
+                    errorMessage.append(violation.getMessage()).append("; ");
+                }
+                throw new BusinessException(ResultCode.VALIDATE_FAIL.getCode(), errorMessage.toString());
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package top.jiuxialb.javafx.desktop;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import top.jiuxialb.javafx.cache.AssetCache;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.function.Supplier;
+
+/**
+ * WebView使用的app://协议，直接从AssetCache的内存缓存读取前端资源，不再每次加载都读取jar
+ * 进程内读取无需压缩，始终返回未压缩的内容。
+ */
+public class AssetUrlStreamHandler extends URLStreamHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetUrlStreamHandler.class);
+
+    public static final String PROTOCOL = "app";
+
+    /**
+     * 页面入口地址
+     */
+    public static final String INDEX_URL = PROTOCOL + "://local/index.html";
+
+    private final Supplier<AssetCache> assetCache;
+
+    private AssetUrlStreamHandler(Supplier<AssetCache> assetCache) {
+        this.assetCache = assetCache;
+    }
+
+    /**
+     * 注册app://协议，每个JVM只能注册一次URLStreamHandlerFactory
+     * @return 注册失败（已被其他组件注册）时返回false，调用方应回退到classpath地址
+     */
+    public static boolean install(Supplier<AssetCache> assetCache) {
+        AssetUrlStreamHandler handler = new AssetUrlStreamHandler(assetCache);
+        try {
+            URL.setURLStreamHandlerFactory(protocol -> PROTOCOL.equals(protocol) ? handler : null);
+            return true;
+        } catch (Error e) {
+            logger.warn("无法注册{}://协议，前端资源将直接从classpath加载: {}", PROTOCOL, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    protected URLConnection openConnection(URL url) {
+        return new AssetConnection(url);
+    }
+
+    private final class AssetConnection extends URLConnection {
+
+        private AssetCache.Asset asset;
+
+        private AssetConnection(URL url) {
+            super(url);
+        }
+
+        @Override
+        public void connect() throws FileNotFoundException {
+            if (connected) {
+                return;
+            }
+            String path = url.getPath().startsWith("/") ? url.getPath().substring(1) : url.getPath();
+            asset = assetCache.get().get(path.isEmpty() ? "index.html" : path);
+            if (asset == null) {
+                throw new FileNotFoundException(url.toString());
+            }
+            connected = true;
+        }
+
+        @Override
+        public InputStream getInputStream() throws FileNotFoundException {
+            connect();
+            return new ByteArrayInputStream(asset.getIdentity().getContent());
+        }
+
+        @Override
+        public String getContentType() {
+            try {
+                connect();
+            } catch (FileNotFoundException e) {
+                return null;
+            }
+            return asset.getMediaType().toString();
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            try {
+                connect();
+            } catch (FileNotFoundException e) {
+                return -1;
+            }
+            return asset.getIdentity().getContent().length;
+        }
+
+        @Override
+        public String getHeaderField(String name) {
+            if ("content-type".equalsIgnoreCase(name)) {
+                return getContentType();
+            }
+            if ("content-length".equalsIgnoreCase(name)) {
+                long length = getContentLengthLong();
+                return length >= 0 ? String.valueOf(length) : null;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package top.jiuxialb.javafx.desktop;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * JS到Java的桥接对象，页面加载完成后注入为window.desktopBridge
+ * WebView只持有桥接对象的弱引用，调用方需要自行保存实例。
+ *
+ * JS调用发生在FX应用线程上，这里只做状态切换，诊断信息的处理交给后台线程。
+ */
+public class DesktopBridge {
+
+    private static final Logger logger = LoggerFactory.getLogger(DesktopBridge.class);
+
+    private final Runnable mountedCallback;
+    private final AtomicBoolean mounted = new AtomicBoolean();
+    private volatile Consumer<String> diagnosticsListener;
+    private final ExecutorService diagnosticsExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("webview-diagnostics").daemon(true).factory());
+
+    /**
+     * @param mountedCallback 前端挂载完成时在FX应用线程上执行，每次页面加载最多执行一次
+     */
+    public DesktopBridge(Runnable mountedCallback) {
+        this.mountedCallback = mountedCallback;
+    }
+
+    /**
+     * 由前端在Vue应用挂载完成后调用
+     * @param diagnostics 前端收集的诊断信息（JSON）
+     */
+    public void onMounted(String diagnostics) {
+        if (!mounted.compareAndSet(false, true)) {
+            return;
+        }
+        Consumer<String> listener = diagnosticsListener;
+        diagnosticsExecutor.execute(() -> {
+            logger.info("前端应用已挂载: {}", diagnostics);
+            if (listener != null) {
+                listener.accept(diagnostics);
+            }
+        });
+        mountedCallback.run();
+    }
+
+    /**
+     * 设置诊断信息的处理方，在诊断线程上调用
+     */
+    public void setDiagnosticsListener(Consumer<String> diagnosticsListener) {
+        this.diagnosticsListener = diagnosticsListener;
+    }
+
+    /**
+     * 新页面开始加载前重置挂载状态
+     */
+    public void reset() {
+        mounted.set(false);
+    }
+
+    public boolean isMounted() {
+        return mounted.get();
+    }
+}
@@ -0,0 +1,67 @@
+package top.jiuxialb.javafx.desktop;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 未启动内嵌Web服务器时（web-application-type=none）按需启动
+ * 以桌面上下文为父上下文创建一个只含Web层的子上下文，供浏览器等外部客户端访问REST接口。
+ * Web服务器已随应用启动时直接返回其端口。
+ */
+public class EmbeddedServerLauncher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedServerLauncher.class);
+
+    private final ConfigurableApplicationContext parent;
+    private ConfigurableApplicationContext webContext;
+
+    public EmbeddedServerLauncher(ConfigurableApplicationContext parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * 启动Web服务器，已启动时直接返回
+     * @return 监听端口
+     */
+    public synchronized int start() {
+        if (parent instanceof WebServerApplicationContext webServerContext) {
+            return webServerContext.getWebServer().getPort();
+        }
+        if (webContext == null) {
+            long begin = System.currentTimeMillis();
+            // 命令行参数优先级最高，覆盖父上下文的非Web和懒加载设置
+            webContext = new SpringApplicationBuilder(EmbeddedWebConfig.class)
+                    .parent(parent)
+                    .web(WebApplicationType.SERVLET)
+                    .bannerMode(Banner.Mode.OFF)
+                    .logStartupInfo(false)
+                    .run("--spring.main.web-application-type=servlet", "--spring.main.lazy-initialization=false");
+            logger.info("内嵌Web服务器已按需启动，端口: {}，耗时: {}ms", getPort(), System.currentTimeMillis() - begin);
+        }
+        return getPort();
+    }
+
+    /**
+     * 停止按需启动的Web服务器，随应用启动的Web服务器不做处理
+     */
+    public synchronized void stop() {
+        if (webContext != null) {
+            webContext.close();
+            webContext = null;
+            logger.info("内嵌Web服务器已停止");
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return parent instanceof WebServerApplicationContext || webContext != null;
+    }
+
+    private int getPort() {
+        return ((WebServerApplicationContext) webContext).getWebServer().getPort();
+    }
+}
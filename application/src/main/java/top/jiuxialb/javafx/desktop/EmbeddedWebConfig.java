@@ -0,0 +1,40 @@
+package top.jiuxialb.javafx.desktop;
+
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.HttpEncodingAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.error.ErrorMvcAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import top.jiuxialb.javafx.config.CorsConfig;
+import top.jiuxialb.javafx.config.VirtualThreadConfig;
+import top.jiuxialb.javafx.config.WebMvcConfig;
+import top.jiuxialb.javafx.controller.UserController;
+import top.jiuxialb.javafx.handler.GlobalExceptionHandler;
+
+/**
+ * 按需启动的Web子上下文配置
+ * 只包含Web层：内嵌Tomcat、MVC、控制器和异常处理，服务和数据源从父上下文（桌面上下文）获取。
+ * 控制器在子上下文中重新创建，需要AOP自动配置才能应用父上下文中的计时切面。
+ *
+ * 注意：这里故意不加@Configuration，避免被应用的组件扫描加载到父上下文中。
+ */
+@ImportAutoConfiguration({
+        AopAutoConfiguration.class,
+        ServletWebServerFactoryAutoConfiguration.class,
+        DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class,
+        HttpMessageConvertersAutoConfiguration.class,
+        HttpEncodingAutoConfiguration.class,
+        MultipartAutoConfiguration.class,
+        ErrorMvcAutoConfiguration.class
+})
+@ComponentScan(basePackageClasses = {UserController.class, GlobalExceptionHandler.class})
+@Import({CorsConfig.class, VirtualThreadConfig.class, WebMvcConfig.class})
+public class EmbeddedWebConfig {
+}
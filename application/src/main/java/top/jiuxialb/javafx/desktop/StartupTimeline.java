@@ -0,0 +1,76 @@
+package top.jiuxialb.javafx.desktop;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 桌面端启动时间线
+ * 记录各启动阶段相对JVM启动时刻的耗时，全部阶段完成后输出一份汇总日志
+ */
+public final class StartupTimeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimeline.class);
+
+    private static final long JVM_START_MILLIS = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    private static final List<Phase> phases = new ArrayList<>();
+
+    private static boolean reported;
+
+    private StartupTimeline() {
+    }
+
+    /**
+     * 记录一个阶段完成，可在任意线程调用
+     */
+    public static synchronized void mark(String phase) {
+        long elapsed = System.currentTimeMillis() - JVM_START_MILLIS;
+        long sincePrevious = phases.isEmpty() ? elapsed : elapsed - phases.get(phases.size() - 1).elapsed;
+        phases.add(new Phase(phase, elapsed));
+        logger.info("启动阶段 [{}]: +{}ms (距JVM启动 {}ms)", phase, sincePrevious, elapsed);
+    }
+
+    /**
+     * 输出汇总日志，只输出一次
+     */
+    public static synchronized void report() {
+        if (reported) {
+            return;
+        }
+        reported = true;
+        StringBuilder summary = new StringBuilder("启动时间线:");
+        long previous = 0;
+        for (Phase phase : phases) {
+            summary.append(String.format("%n  %-20s %6dms  (+%dms)", phase.name, phase.elapsed, phase.elapsed - previous));
+            previous = phase.elapsed;
+        }
+        logger.info(summary.toString());
+    }
+
+    /**
+     * 已完成的阶段及其距JVM启动的毫秒数，按完成顺序排列，同名阶段只保留第一次
+     */
+    public static synchronized Map<String, Long> phases() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Phase phase : phases) {
+            result.putIfAbsent(phase.name, phase.elapsed);
+        }
+        return result;
+    }
+
+    private static final class Phase {
+        private final String name;
+        private final long elapsed;
+
+        private Phase(String name, long elapsed) {
+            this.name = name;
+            this.elapsed = elapsed;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package top.jiuxialb.javafx.desktop;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import top.jiuxialb.javafx.metrics.MetricsRegistry;
+import top.jiuxialb.javafx.metrics.Timer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebView页面加载指标
+ * 页面加载耗时从加载开始（SCHEDULED）到加载完成或失败；DOMContentLoaded和Vue挂载时刻由前端在挂载后
+ * 随诊断信息上报，以页面导航开始为起点。首次挂载后把启动时间线的各阶段登记为仪表。
+ */
+public class WebViewMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebViewMetrics.class);
+
+    private final MetricsRegistry metricsRegistry;
+    private final ObjectMapper objectMapper;
+    private final Timer loadSucceeded;
+    private final Timer loadFailed;
+    private final Timer domContentLoaded;
+    private final Timer appMounted;
+
+    /**
+     * 只在FX应用线程上读写
+     */
+    private long loadStartNanos;
+
+    private boolean startupRecorded;
+
+    public WebViewMetrics(MetricsRegistry metricsRegistry, ObjectMapper objectMapper) {
+        this.metricsRegistry = metricsRegistry;
+        this.objectMapper = objectMapper;
+        this.loadSucceeded = metricsRegistry.timer("webview_page_load_seconds", "WebView页面加载耗时",
+                "outcome", "success");
+        this.loadFailed = metricsRegistry.timer("webview_page_load_seconds", "WebView页面加载耗时",
+                "outcome", "error");
+        this.domContentLoaded = metricsRegistry.timer("webview_dom_content_loaded_seconds",
+                "从页面导航开始到DOMContentLoaded结束的耗时");
+        this.appMounted = metricsRegistry.timer("webview_app_mounted_seconds",
+                "从页面导航开始到Vue应用挂载完成的耗时");
+    }
+
+    /**
+     * 页面开始加载，在FX应用线程上调用
+     */
+    public void loadStarted() {
+        loadStartNanos = System.nanoTime();
+    }
+
+    /**
+     * 页面加载结束，在FX应用线程上调用
+     */
+    public void loadFinished(boolean succeeded) {
+        if (loadStartNanos == 0) {
+            return;
+        }
+        (succeeded ? loadSucceeded : loadFailed).recordSince(loadStartNanos);
+        loadStartNanos = 0;
+    }
+
+    /**
+     * 记录前端上报的诊断信息，在诊断线程上调用
+     * @param diagnostics 前端收集的诊断信息（JSON），时间单位为毫秒
+     */
+    public void mounted(String diagnostics) {
+        try {
+            JsonNode node = objectMapper.readTree(diagnostics);
+            record(domContentLoaded, node.path("domContentLoaded"));
+            record(appMounted, node.path("mountedAt"));
+        } catch (IOException e) {
+            logger.debug("无法解析前端诊断信息: {}", diagnostics);
+        }
+    }
+
+    /**
+     * 启动完成（前端首次挂载）后登记启动时间线，在FX应用线程上调用，只登记一次
+     */
+    public void startupCompleted() {
+        if (startupRecorded) {
+            return;
+        }
+        startupRecorded = true;
+        for (Map.Entry<String, Long> phase : StartupTimeline.phases().entrySet()) {
+            double seconds = phase.getValue() / 1000.0;
+            metricsRegistry.gauge("desktop_startup_phase_seconds", "启动各阶段完成时距JVM启动的时间",
+                    () -> seconds, "phase", phase.getKey());
+        }
+    }
+
+    private static void record(Timer timer, JsonNode millis) {
+        if (millis.isNumber() && millis.asLong() >= 0) {
+            timer.record(millis.asLong(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package top.jiuxialb.javafx.event;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 把变更事件写入SSE连接
+ * 每个事件以序号作为SSE的id，浏览器EventSource断线重连时会通过Last-Event-ID带回最后收到的序号
+ */
+public class SseUserChangeListener implements UserChangeFeed.Listener {
+
+    private final SseEmitter emitter;
+
+    public SseUserChangeListener(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void onEvents(List<UserChangeEvent> events) throws Exception {
+        for (UserChangeEvent event : events) {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.getSequence()))
+                    .name("change")
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Override
+    public void onReset(long sequence) throws Exception {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(sequence))
+                .name("reset")
+                .data(Map.of("sequence", sequence), MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void onHeartbeat() throws Exception {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void onClose() {
+        emitter.complete();
+    }
+}
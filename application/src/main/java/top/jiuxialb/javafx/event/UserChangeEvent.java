@@ -0,0 +1,64 @@
+package top.jiuxialb.javafx.event;
+
+import top.jiuxialb.javafx.entity.User;
+
+import java.io.Serializable;
+
+/**
+ * 用户表变更事件
+ * 序号全局单调递增，客户端记录最后处理的序号，断线重连时从该序号之后继续接收
+ */
+public class UserChangeEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        /**
+         * 一次事务中变更的行数过多（例如批量导入），不逐条推送，客户端应重新拉取数据
+         */
+        BULK
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final Long id;
+    private final User user;
+    private final long timestamp;
+
+    public UserChangeEvent(long sequence, Type type, Long id, User user, long timestamp) {
+        this.sequence = sequence;
+        this.type = type;
+        this.id = id;
+        this.user = user;
+        this.timestamp = timestamp;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * 用户ID，BULK事件为null
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * 变更后的用户数据，DELETED和BULK事件为null
+     * 批量更新时只包含请求中提交的字段
+     */
+    public User getUser() {
+        return user;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,365 @@
+package top.jiuxialb.javafx.event;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import top.jiuxialb.javafx.entity.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 用户表变更事件流
+ * 写操作由UserServiceImpl发布，事务中的变更在提交后才进入事件流，回滚的变更不会发布。
+ * 最近的事件保存在环形缓冲区中，订阅者可以从指定序号之后续传；序号已不在缓冲区内时通知订阅者重新拉取全量数据。
+ *
+ * 事件的记录、补发和分发都在同一个分发线程上按序号顺序执行，订阅者不会收到乱序或重复的事件。
+ * 分发线程只把事件放入每个订阅者自己的有界发送队列，由订阅者各自的虚拟线程写出，
+ * 推送慢的订阅者既不会阻塞写操作，也不会拖慢其他订阅者；发送队列满时丢弃积压的事件，改为发送重置通知。
+ */
+@Component
+public class UserChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserChangeFeed.class);
+
+    /**
+     * 保留的最近事件数
+     */
+    @Value("${app.user.change-feed.capacity:4096}")
+    private int capacity;
+
+    /**
+     * 单次事务超过该变更数时合并为一个BULK事件
+     */
+    @Value("${app.user.change-feed.max-events-per-transaction:200}")
+    private int maxEventsPerTransaction;
+
+    /**
+     * 心跳间隔（秒），用于及时发现已断开的连接
+     */
+    @Value("${app.user.change-feed.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    /**
+     * 每个订阅者最多积压的待发送批次数
+     */
+    @Value("${app.user.change-feed.subscriber-queue-size:64}")
+    private int subscriberQueueSize;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private UserChangeEvent[] buffer;
+    private long firstSequence;
+    private long lastSequence;
+    private ScheduledExecutorService dispatcher;
+
+    @PostConstruct
+    public void start() {
+        buffer = new UserChangeEvent[capacity];
+        // 以启动时间作为序号起点，重启后的序号总是大于之前发出的序号，旧序号续传时会收到重置通知
+        lastSequence = System.currentTimeMillis() * 1000;
+        firstSequence = lastSequence + 1;
+        dispatcher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("user-change-feed").daemon(true).factory());
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+        for (Subscription subscription : subscriptions) {
+            subscription.cancel();
+            subscription.listener.onClose();
+        }
+        subscriptions.clear();
+    }
+
+    /**
+     * 发布创建事件
+     */
+    public void created(Collection<User> users) {
+        publish(users.stream()
+                .map(user -> new Change(UserChangeEvent.Type.CREATED, user.getId(), user))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 发布更新事件
+     */
+    public void updated(Collection<User> users) {
+        publish(users.stream()
+                .map(user -> new Change(UserChangeEvent.Type.UPDATED, user.getId(), user))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 发布删除事件
+     */
+    public void deleted(Collection<Long> ids) {
+        publish(ids.stream()
+                .map(id -> new Change(UserChangeEvent.Type.DELETED, id, null))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 订阅变更事件
+     * @param since 最后处理的序号，为null时只接收订阅之后的事件
+     * @return 订阅，连接断开时需要取消
+     */
+    public Subscription subscribe(Long since, Listener listener) {
+        Subscription subscription = new Subscription(listener);
+        // 未指定序号时从调用时的序号开始，调用之后、订阅任务执行之前发布的事件按补发处理，不会漏掉
+        long from;
+        if (since != null) {
+            from = since;
+        } else {
+            synchronized (this) {
+                from = lastSequence;
+            }
+        }
+        execute(() -> {
+            if (subscription.cancelled) {
+                return;
+            }
+            List<UserChangeEvent> missed;
+            long resetSequence = -1;
+            synchronized (this) {
+                long oldest = Math.max(firstSequence, lastSequence - capacity + 1);
+                if (from < oldest - 1 || from > lastSequence) {
+                    missed = Collections.emptyList();
+                    resetSequence = lastSequence;
+                } else {
+                    missed = new ArrayList<>((int) (lastSequence - from));
+                    for (long sequence = from + 1; sequence <= lastSequence; sequence++) {
+                        missed.add(buffer[index(sequence)]);
+                    }
+                }
+                subscription.lastQueued = lastSequence;
+            }
+            if (resetSequence >= 0) {
+                long sequence = resetSequence;
+                subscription.outbox.offer(target -> target.onReset(sequence));
+            } else if (!missed.isEmpty()) {
+                subscription.outbox.offer(target -> target.onEvents(missed));
+            }
+            subscriptions.add(subscription);
+            if (subscription.cancelled) {
+                // 补发期间已取消，cancel可能先于加入列表执行
+                subscriptions.remove(subscription);
+                return;
+            }
+            subscription.startSender();
+        });
+        return subscription;
+    }
+
+    private void publish(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(changes);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Change> pending = (List<Change>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Change> transactionChanges = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, transactionChanges);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(transactionChanges);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(UserChangeFeed.this);
+                }
+            });
+            pending = transactionChanges;
+        }
+        pending.addAll(changes);
+    }
+
+    private void append(List<Change> changes) {
+        if (changes.size() > maxEventsPerTransaction) {
+            changes = List.of(new Change(UserChangeEvent.Type.BULK, null, null));
+        }
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            List<UserChangeEvent> events = new ArrayList<>(changes.size());
+            for (Change change : changes) {
+                UserChangeEvent event = new UserChangeEvent(++lastSequence, change.type, change.id, change.user, now);
+                buffer[index(event.getSequence())] = event;
+                events.add(event);
+            }
+            // 在锁内提交分发任务，保证分发顺序与序号一致
+            execute(() -> deliver(events));
+        }
+    }
+
+    /**
+     * 把事件放入各订阅者的发送队列，不等待写出
+     */
+    private void deliver(List<UserChangeEvent> events) {
+        for (Subscription subscription : subscriptions) {
+            List<UserChangeEvent> pending = events;
+            // 订阅时已补发过的事件不再重复推送
+            if (events.get(0).getSequence() <= subscription.lastQueued) {
+                pending = events.stream().filter(event -> event.getSequence() > subscription.lastQueued)
+                        .collect(Collectors.toList());
+            }
+            if (pending.isEmpty()) {
+                continue;
+            }
+            long sequence = pending.get(pending.size() - 1).getSequence();
+            subscription.lastQueued = sequence;
+            List<UserChangeEvent> batch = pending;
+            if (!subscription.outbox.offer(target -> target.onEvents(batch))) {
+                // 积压的事件不再逐条推送，订阅者重新拉取数据后从当前序号继续
+                logger.debug("变更订阅推送积压超过{}批，改为发送重置通知", subscriberQueueSize);
+                subscription.outbox.clear();
+                subscription.outbox.offer(target -> target.onReset(sequence));
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            // 队列中还有待发送的内容时无需心跳，发送失败同样能发现断开的连接
+            if (subscription.outbox.isEmpty()) {
+                subscription.outbox.offer(Listener::onHeartbeat);
+            }
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        subscription.cancel();
+        subscription.listener.onClose();
+    }
+
+    private void execute(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 应用正在关闭
+            logger.debug("变更事件流已关闭");
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) Math.floorMod(sequence, (long) capacity);
+    }
+
+    /**
+     * 变更事件的接收方，方法均在该订阅的发送线程上依次调用，抛出异常时自动取消订阅
+     */
+    public interface Listener {
+
+        /**
+         * 按序号顺序接收一批事件
+         */
+        void onEvents(List<UserChangeEvent> events) throws Exception;
+
+        /**
+         * 请求的序号已不在缓冲区内（或来自重启前），客户端应重新拉取全量数据，之后从sequence继续
+         */
+        void onReset(long sequence) throws Exception;
+
+        /**
+         * 定时心跳
+         */
+        default void onHeartbeat() throws Exception {
+        }
+
+        /**
+         * 订阅因推送失败或应用关闭而结束
+         */
+        default void onClose() {
+        }
+    }
+
+    /**
+     * 一个订阅
+     */
+    public final class Subscription {
+        private final Listener listener;
+        /**
+         * 待发送的批次，由分发线程放入，发送线程取出
+         */
+        private final BlockingQueue<Delivery> outbox = new ArrayBlockingQueue<>(subscriberQueueSize);
+        private volatile boolean cancelled;
+        /**
+         * 已放入发送队列的最大序号，只在分发线程上读写
+         */
+        private long lastQueued;
+
+        private Subscription(Listener listener) {
+            this.listener = listener;
+        }
+
+        /**
+         * 取消订阅，可重复调用
+         */
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            // 唤醒等待中的发送线程，队列已满时发送线程不会阻塞，无需唤醒
+            outbox.offer(target -> {
+            });
+        }
+
+        private void startSender() {
+            Thread.ofVirtual().name("user-change-feed-subscriber").start(this::sendLoop);
+        }
+
+        private void sendLoop() {
+            try {
+                while (!cancelled) {
+                    Delivery delivery = outbox.take();
+                    if (cancelled) {
+                        break;
+                    }
+                    delivery.send(listener);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.debug("变更推送失败，取消订阅: {}", e.getMessage());
+                remove(this);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Delivery {
+        void send(Listener listener) throws Exception;
+    }
+
+    private static final class Change {
+        private final UserChangeEvent.Type type;
+        private final Long id;
+        private final User user;
+
+        private Change(UserChangeEvent.Type type, Long id, User user) {
+            this.type = type;
+            this.id = id;
+            this.user = user;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package top.jiuxialb.javafx.exception;
 
 /**
  * 业务异常类
+ * 业务异常是预期的处理结果（用户不存在、参数不合法等），不填充堆栈，创建开销与普通对象相当；
+ * 包装的底层异常（cause）仍保留自己的堆栈。
  */
 public class BusinessException extends RuntimeException {
     private static final long serialVersionUID = 1L;
@@ -9,28 +11,28 @@ public class BusinessException extends RuntimeException {
     private int code = 500; // 默认错误码
     
     public BusinessException() {
-        super("服务器内部错误");
+        this("服务器内部错误", null);
     }
     
     public BusinessException(String message) {
-        super(message);
+        this(message, null);
     }
     
     public BusinessException(int code, String message) {
-        super(message);
+        this(message, null);
         this.code = code;
     }
     
     public BusinessException(Throwable cause) {
-        super(cause);
+        this(cause == null ? null : cause.toString(), cause);
     }
     
     public BusinessException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
     
     public BusinessException(int code, String message, Throwable cause) {
-        super(message, cause);
+        this(message, cause);
         this.code = code;
     }
     
@@ -0,0 +1,88 @@
+package top.jiuxialb.javafx.handler;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import top.jiuxialb.javafx.cache.UserTableVersion;
+import top.jiuxialb.javafx.common.Projection;
+import top.jiuxialb.javafx.common.Result;
+import top.jiuxialb.javafx.common.ResultCode;
+import top.jiuxialb.javafx.entity.User;
+
+import java.time.ZoneId;
+
+/**
+ * 为经过ConditionalGetInterceptor的成功响应添加ETag和Last-Modified
+ * 单个用户的ETag附带该用户的更新时间：表有其他写操作但这个用户没变时，仍然可以返回304，省去序列化和传输。
+ * 列表类响应使用整表版本和最近一次写操作的时间。
+ */
+@RestControllerAdvice
+public class ConditionalGetAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest)
+                || !(body instanceof Result) || ((Result<?>) body).getCode() != ResultCode.SUCCESS.getCode()) {
+            return body;
+        }
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        Object attribute = servletRequest.getAttribute(ConditionalGetInterceptor.SNAPSHOT_ATTRIBUTE);
+        if (!(attribute instanceof UserTableVersion.Snapshot)) {
+            return body;
+        }
+        UserTableVersion.Snapshot snapshot = (UserTableVersion.Snapshot) attribute;
+
+        Object data = ((Result<?>) body).getData();
+        if (data instanceof Projection) {
+            data = ((Projection<?>) data).getValue();
+        }
+        if (data instanceof User && ((User) data).getUpdatedAt() != null) {
+            long updatedAt = ((User) data).getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            HttpHeaders headers = response.getHeaders();
+            headers.setETag(snapshot.etag(updatedAt));
+            headers.setLastModified(updatedAt);
+            if (!isModified(servletRequest, snapshot, updatedAt)) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                return null;
+            }
+            return body;
+        }
+
+        response.getHeaders().setETag(snapshot.etag());
+        response.getHeaders().setLastModified(snapshot.getLastModified());
+        return body;
+    }
+
+    /**
+     * 单个用户是否在客户端缓存之后更新过
+     * 拦截器已经处理了版本号一致的情况，这里只比较ETag中附带的更新时间
+     */
+    private static boolean isModified(HttpServletRequest request, UserTableVersion.Snapshot snapshot, long updatedAt) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return ConditionalGetInterceptor.isModifiedSince(request, updatedAt);
+        }
+        for (String etag : ifNoneMatch.split(",")) {
+            Long cached = snapshot.updatedAt(etag);
+            if (cached != null && cached == updatedAt) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,74 @@
+package top.jiuxialb.javafx.handler;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import top.jiuxialb.javafx.cache.UserTableVersion;
+
+/**
+ * 用户读接口的条件请求处理
+ * 请求携带的ETag由当前表版本生成时，说明之后没有任何写操作，直接返回304，不执行控制器、不查库也不序列化。
+ * 没有ETag时按If-Modified-Since和最近一次写操作的时间判断。
+ * 未命中时把请求开始时的版本快照放到请求属性中，由ConditionalGetAdvice为响应生成ETag。
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    /**
+     * 请求开始时的版本快照
+     */
+    static final String SNAPSHOT_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".snapshot";
+
+    @Autowired
+    private UserTableVersion userTableVersion;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        UserTableVersion.Snapshot snapshot = userTableVersion.snapshot();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String etag : ifNoneMatch.split(",")) {
+                if (snapshot.isCurrent(etag)) {
+                    Long updatedAt = snapshot.updatedAt(etag);
+                    notModified(response, etag.trim(), updatedAt != null ? updatedAt : snapshot.getLastModified());
+                    return false;
+                }
+            }
+        } else if (!isModifiedSince(request, snapshot.getLastModified())) {
+            notModified(response, snapshot.etag(), snapshot.getLastModified());
+            return false;
+        }
+
+        request.setAttribute(SNAPSHOT_ATTRIBUTE, snapshot);
+        return true;
+    }
+
+    /**
+     * 按If-Modified-Since判断，HTTP日期只精确到秒
+     * @return 没有该请求头或格式错误时返回true
+     */
+    static boolean isModifiedSince(HttpServletRequest request, long lastModified) {
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+        return ifModifiedSince < 0 || lastModified / 1000 * 1000 > ifModifiedSince;
+    }
+
+    private static void notModified(HttpServletResponse response, String etag, long lastModified) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+    }
+}
@@ -0,0 +1,131 @@
+package top.jiuxialb.javafx.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import top.jiuxialb.javafx.metrics.Counter;
+import top.jiuxialb.javafx.metrics.MetricsRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 错误计数与异常日志限流
+ * 业务异常（用户不存在、参数校验失败等）是预期结果，只计数，不输出堆栈。
+ * 非预期异常按指纹（异常类型、抛出位置、根因类型和位置）去重，同一指纹在间隔内只输出一次完整堆栈，
+ * 其余只计数，下次输出时附带省略的次数。突发的错误流量不会把日志队列占满。
+ */
+@Component
+public class ErrorReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ErrorReporter.class);
+
+    /**
+     * 指纹包含的栈帧数
+     */
+    private static final int FINGERPRINT_FRAMES = 3;
+
+    /**
+     * 最多记录的指纹数，超过后清空重新计数，避免异常来源过多时无限增长
+     */
+    private static final int MAX_FINGERPRINTS = 1024;
+
+    private final MetricsRegistry metricsRegistry;
+
+    private final long intervalNanos;
+
+    private final Map<Integer, Counter> businessErrors = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Counter> unexpectedErrors = new ConcurrentHashMap<>();
+
+    private final Map<String, LogWindow> windows = new ConcurrentHashMap<>();
+
+    private final Counter suppressed;
+
+    public ErrorReporter(MetricsRegistry metricsRegistry,
+                         @Value("${app.error-log.interval-seconds:60}") long intervalSeconds) {
+        this.metricsRegistry = metricsRegistry;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(intervalSeconds);
+        this.suppressed = metricsRegistry.counter("app_error_logs_suppressed_total", "因限流未输出堆栈的非预期异常次数");
+    }
+
+    /**
+     * 记录一次业务错误，只计数
+     * @param code 返回给客户端的业务状态码
+     */
+    public void expected(int code) {
+        businessErrors.computeIfAbsent(code, key -> metricsRegistry.counter("app_business_errors_total",
+                "业务错误次数（用户不存在、参数校验失败等）", "code", String.valueOf(key))).increment();
+    }
+
+    /**
+     * 记录一次非预期异常，按指纹限流输出堆栈
+     * @param message 日志说明，例如失败的操作
+     */
+    public void unexpected(String message, Throwable e) {
+        unexpectedErrors.computeIfAbsent(e.getClass(), key -> metricsRegistry.counter("app_unexpected_errors_total",
+                "非预期异常次数", "exception", key.getSimpleName())).increment();
+
+        if (windows.size() >= MAX_FINGERPRINTS) {
+            windows.clear();
+        }
+        LogWindow window = windows.computeIfAbsent(fingerprint(e), key -> new LogWindow());
+        long omitted = window.tryAcquire(System.nanoTime(), intervalNanos);
+        if (omitted < 0) {
+            suppressed.increment();
+            return;
+        }
+        if (omitted > 0) {
+            logger.error("{}（距上次输出另有{}次相同异常，已省略堆栈）", message, omitted, e);
+        } else {
+            logger.error(message, e);
+        }
+    }
+
+    /**
+     * 异常类型和最靠近抛出点的几个栈帧，有根因时再加上根因的类型和抛出位置
+     */
+    private static String fingerprint(Throwable e) {
+        StringBuilder fingerprint = new StringBuilder(e.getClass().getName());
+        StackTraceElement[] frames = e.getStackTrace();
+        for (int i = 0; i < Math.min(FINGERPRINT_FRAMES, frames.length); i++) {
+            fingerprint.append('|').append(frames[i]);
+        }
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        if (root != e) {
+            fingerprint.append("|caused by ").append(root.getClass().getName());
+            StackTraceElement[] rootFrames = root.getStackTrace();
+            if (rootFrames.length > 0) {
+                fingerprint.append('|').append(rootFrames[0]);
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * 单个指纹的输出窗口
+     */
+    private static final class LogWindow {
+        private final AtomicLong lastLogged = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong omitted = new AtomicLong();
+
+        /**
+         * 距上次输出超过间隔时获得输出权
+         * @return 获得输出权时返回期间省略的次数，否则返回-1
+         */
+        private long tryAcquire(long now, long intervalNanos) {
+            long last = lastLogged.get();
+            if ((last == Long.MIN_VALUE || now - last >= intervalNanos) && lastLogged.compareAndSet(last, now)) {
+                return omitted.getAndSet(0);
+            }
+            omitted.incrementAndGet();
+            return -1;
+        }
+    }
+}
@@ -9,45 +9,50 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import top.jiuxialb.javafx.common.Result;
+import top.jiuxialb.javafx.common.ResultCode;
 import top.jiuxialb.javafx.exception.BusinessException;
 import top.jiuxialb.javafx.exception.UserNotFoundException;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.List;
 
 /**
  * 全局异常处理器
+ * 用户不存在、参数校验失败等业务异常只计数并输出调试日志，堆栈只为非预期异常输出（见ErrorReporter）
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     
+    private final ErrorReporter errorReporter;
+    
+    public GlobalExceptionHandler(ErrorReporter errorReporter) {
+        this.errorReporter = errorReporter;
+    }
+    
     /**
      * 处理用户未找到异常
      */
     @ExceptionHandler(UserNotFoundException.class)
     public Result<Object> handleUserNotFoundException(UserNotFoundException e) {
-        // 打印堆栈信息
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        e.printStackTrace(pw);
-        logger.error("User not found exception: {}", sw.toString());
+        errorReporter.expected(e.getCode());
+        logger.debug("User not found: {}", e.getMessage());
         
         return Result.fail(e.getCode(), e.getMessage());
     }
     
     /**
      * 处理业务异常
+     * 包装了底层异常（例如数据库错误）的业务异常按非预期异常记录，以便排查根因
      */
     @ExceptionHandler(BusinessException.class)
     public Result<Object> handleBusinessException(BusinessException e) {
-        // 打印堆栈信息
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        e.printStackTrace(pw);
-        logger.error("Business exception: {}", sw.toString());
+        if (e.getCause() != null) {
+            errorReporter.unexpected("Business exception: " + e.getMessage(), e);
+        } else {
+            errorReporter.expected(e.getCode());
+            logger.debug("Business exception: code={}, message={}", e.getCode(), e.getMessage());
+        }
         
         return Result.fail(e.getCode(), e.getMessage());
     }
@@ -57,21 +62,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public Result<Object> handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
-        // 打印堆栈信息
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        e.printStackTrace(pw);
-        logger.error("Method argument validation exception: {}", sw.toString());
-        
-        BindingResult bindingResult = e.getBindingResult();
-        StringBuilder errorMessage = new StringBuilder();
-        
-        List<FieldError> fieldErrors = bindingResult.getFieldErrors();
-        for (FieldError fieldError : fieldErrors) {
-            errorMessage.append(fieldError.getDefaultMessage()).append("; ");
-        }
-        
-        return Result.validateFail(errorMessage.toString());
+        return validateFail(e.getBindingResult());
     }
     
     /**
@@ -79,21 +70,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(BindException.class)
     public Result<Object> handleBindException(BindException e) {
-        // 打印堆栈信息
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        e.printStackTrace(pw);
-        logger.error("Bind exception: {}", sw.toString());
-        
-        BindingResult bindingResult = e.getBindingResult();
-        StringBuilder errorMessage = new StringBuilder();
-        
-        List<FieldError> fieldErrors = bindingResult.getFieldErrors();
-        for (FieldError fieldError : fieldErrors) {
-            errorMessage.append(fieldError.getDefaultMessage()).append("; ");
-        }
-        
-        return Result.validateFail(errorMessage.toString());
+        return validateFail(e.getBindingResult());
     }
     
     /**
@@ -101,12 +78,21 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public Result<Object> handleException(Exception e) {
-        // 打印堆栈信息
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        e.printStackTrace(pw);
-        logger.error("System exception: {}", sw.toString());
+        errorReporter.unexpected("System exception", e);
         
         return Result.fail("服务器内部错误，请联系管理员");
     }
+    
+    private Result<Object> validateFail(BindingResult bindingResult) {
+        StringBuilder errorMessage = new StringBuilder();
+        
+        List<FieldError> fieldErrors = bindingResult.getFieldErrors();
+        for (FieldError fieldError : fieldErrors) {
+            errorMessage.append(fieldError.getDefaultMessage()).append("; ");
+        }
+        
+        errorReporter.expected(ResultCode.VALIDATE_FAIL.getCode());
+        logger.debug("Validation failed: {}", errorMessage);
+        return Result.validateFail(errorMessage.toString());
+    }
 }
\ No newline at end of file
@@ -2,10 +2,73 @@ package top.jiuxialb.javafx.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import top.jiuxialb.javafx.entity.User;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.Collection;
+import java.util.List;
 
 @Mapper
 public interface UserMapper extends BaseMapper<User> {
     // MyBatis-Plus已提供常用的CRUD方法
     // 可以在此处添加自定义的查询方法
-}
\ No newline at end of file
+
+    /**
+     * 多行INSERT批量插入，一条语句写入整批数据
+     * 注意：不会回填自增ID，也不会触发自动填充，调用方需自行设置时间字段
+     */
+    @Insert({"<script>",
+            "INSERT INTO user (name, email, age, created_at, updated_at) VALUES",
+            "<foreach collection='users' item='u' separator=','>",
+            "(#{u.name}, #{u.email}, IFNULL(#{u.age}, 0), #{u.createdAt}, #{u.updatedAt})",
+            "</foreach>",
+            "</script>"})
+    int insertBatch(@Param("users") List<User> users);
+
+    /**
+     * 根据邮箱批量查询ID，只返回id和email两列
+     */
+    @Select({"<script>",
+            "SELECT id, email FROM user WHERE email IN",
+            "<foreach collection='emails' item='email' open='(' separator=',' close=')'>#{email}</foreach>",
+            "</script>"})
+    List<User> selectIdsByEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * 全文检索，按bm25相关度排序（name权重高于email）
+     * 先在FTS索引内完成排序和分页，再回表取整行
+     * @param match FTS5查询表达式
+     */
+    @Select({"SELECT u.* FROM (",
+            "  SELECT rowid, bm25(user_fts, 2.0, 1.0) AS score FROM user_fts",
+            "  WHERE user_fts MATCH #{match} ORDER BY score LIMIT #{limit} OFFSET #{offset}",
+            ") f JOIN user u ON u.id = f.rowid ORDER BY f.score"})
+    List<User> searchFullText(@Param("match") String match, @Param("limit") long limit, @Param("offset") long offset);
+
+    /**
+     * 全文检索命中总数
+     * @param match FTS5查询表达式
+     */
+    @Select("SELECT COUNT(*) FROM user_fts WHERE user_fts MATCH #{match}")
+    long countFullText(@Param("match") String match);
+
+    /**
+     * 用户总数，读取由触发器维护的计数表（见V5__Create_user_stats.sql），耗时与表大小无关
+     */
+    @Select("SELECT row_count FROM user_stats WHERE id = 1")
+    long countAll();
+
+    /**
+     * 按ID顺序逐行读取全表，每读到一行回调一次，不在内存中累积结果
+     */
+    @Select("SELECT * FROM user ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    @ResultType(User.class)
+    void streamAll(ResultHandler<User> handler);
+}
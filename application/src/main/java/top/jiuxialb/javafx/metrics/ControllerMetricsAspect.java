@@ -0,0 +1,62 @@
+package top.jiuxialb.javafx.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import top.jiuxialb.javafx.common.Result;
+import top.jiuxialb.javafx.exception.BusinessException;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * UserController各方法的耗时
+ * 以切面实现而不是HandlerInterceptor：桌面模式下ApiBridge直接调用控制器方法，不经过DispatcherServlet，
+ * 两种调用方式的耗时都要统计。按方法名和业务状态码（Result.code或异常对应的状态码）分别计时，
+ * 不包含参数绑定、校验和响应序列化，完整的HTTP请求耗时以压测报告为准。
+ */
+@Aspect
+@Component
+public class ControllerMetricsAspect {
+
+    private static final String NAME = "http_controller_seconds";
+
+    private static final String HELP = "控制器方法耗时";
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    private final Map<Method, Map<Integer, Timer>> timers = new ConcurrentHashMap<>();
+
+    @Around("within(top.jiuxialb.javafx.controller.UserController) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        int code = 200;
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof Result<?> body) {
+                code = body.getCode();
+            }
+            return result;
+        } catch (BusinessException e) {
+            code = e.getCode();
+            throw e;
+        } catch (Throwable e) {
+            code = 500;
+            throw e;
+        } finally {
+            timer(((MethodSignature) joinPoint.getSignature()).getMethod(), code).recordSince(start);
+        }
+    }
+
+    private Timer timer(Method method, int code) {
+        return timers.computeIfAbsent(method, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(code, key -> metricsRegistry.timer(NAME, HELP,
+                        "controller", method.getDeclaringClass().getSimpleName(),
+                        "method", method.getName(), "code", String.valueOf(code)));
+    }
+}
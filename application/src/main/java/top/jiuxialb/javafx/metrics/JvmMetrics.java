@@ -0,0 +1,64 @@
+package top.jiuxialb.javafx.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * JVM内存、GC、线程和进程仪表，数值在抓取时从MXBean读取
+ */
+@Component
+public class JvmMetrics implements MetricsBinder {
+
+    @Override
+    public void bindTo(MetricsRegistry registry) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory(registry, "heap", memory::getHeapMemoryUsage);
+        memory(registry, "nonheap", memory::getNonHeapMemoryUsage);
+
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            registry.functionCounter("jvm_gc_collections_total", "GC次数",
+                    () -> Math.max(0, gc.getCollectionCount()), "gc", gc.getName());
+            registry.functionCounter("jvm_gc_collection_seconds_total", "GC累计耗时",
+                    () -> Math.max(0, gc.getCollectionTime()) / 1000.0, "gc", gc.getName());
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        registry.gauge("jvm_threads_live", "当前平台线程数", threads::getThreadCount);
+        registry.gauge("jvm_threads_daemon", "当前守护线程数", threads::getDaemonThreadCount);
+        registry.gauge("jvm_threads_peak", "平台线程数峰值", threads::getPeakThreadCount);
+
+        ClassLoadingMXBean classes = ManagementFactory.getClassLoadingMXBean();
+        registry.gauge("jvm_classes_loaded", "已加载的类数", classes::getLoadedClassCount);
+
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        registry.gauge("process_uptime_seconds", "进程运行时间", () -> runtime.getUptime() / 1000.0);
+        registry.gauge("process_start_time_seconds", "进程启动时间（Unix时间戳）", () -> runtime.getStartTime() / 1000.0);
+
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        registry.gauge("system_load_average_1m", "系统1分钟平均负载", os::getSystemLoadAverage);
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            registry.gauge("process_cpu_usage", "进程CPU使用率（0-1）", sunOs::getProcessCpuLoad);
+        }
+    }
+
+    private static void memory(MetricsRegistry registry, String area, Supplier<MemoryUsage> usage) {
+        gauge(registry, "jvm_memory_used_bytes", "已使用内存", area, usage, MemoryUsage::getUsed);
+        gauge(registry, "jvm_memory_committed_bytes", "已提交内存", area, usage, MemoryUsage::getCommitted);
+        gauge(registry, "jvm_memory_max_bytes", "最大可用内存，未限制时为-1", area, usage, MemoryUsage::getMax);
+    }
+
+    private static void gauge(MetricsRegistry registry, String name, String help, String area,
+                              Supplier<MemoryUsage> usage, ToLongFunction<MemoryUsage> value) {
+        registry.gauge(name, help, () -> value.applyAsLong(usage.get()), "area", area);
+    }
+}
@@ -0,0 +1,9 @@
+package top.jiuxialb.javafx.metrics;
+
+/**
+ * 在首次抓取时向注册表注册仪表的组件
+ */
+public interface MetricsBinder {
+
+    void bindTo(MetricsRegistry registry);
+}
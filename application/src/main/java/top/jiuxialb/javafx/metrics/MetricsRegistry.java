@@ -0,0 +1,195 @@
+package top.jiuxialb.javafx.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 应用指标注册表，按Prometheus文本格式（0.0.4）输出
+ * 计数器和计时器基于LongAdder，热路径上只有无锁的分段累加，不分配对象；
+ * 按名称和标签查找指标有哈希开销，调用方应在首次获取后缓存返回的Counter/Timer。
+ * 仪表（gauge）和函数计数器在抓取时才读取数值，不占用热路径。
+ */
+@Component
+public class MetricsRegistry {
+
+    private final ConcurrentMap<String, Family> families = new ConcurrentSkipListMap<>();
+
+    private final ObjectProvider<MetricsBinder> binders;
+
+    private volatile boolean bound;
+
+    public MetricsRegistry(ObjectProvider<MetricsBinder> binders) {
+        this.binders = binders;
+    }
+
+    /**
+     * 获取或创建计数器
+     * @param labels 标签名和标签值交替排列
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, help, Type.COUNTER).metrics.computeIfAbsent(labels(labels), key -> new Counter());
+    }
+
+    /**
+     * 获取或创建计时器，以直方图形式输出，单位为秒
+     * @param labels 标签名和标签值交替排列
+     */
+    public Timer timer(String name, String help, String... labels) {
+        return (Timer) family(name, help, Type.HISTOGRAM).metrics.computeIfAbsent(labels(labels), key -> new Timer());
+    }
+
+    /**
+     * 注册仪表，抓取时调用supplier读取当前值；同名同标签重复注册时保留第一次的supplier
+     * @param labels 标签名和标签值交替排列
+     */
+    public void gauge(String name, String help, DoubleSupplier supplier, String... labels) {
+        family(name, help, Type.GAUGE).metrics.putIfAbsent(labels(labels), new Sampled(supplier));
+    }
+
+    /**
+     * 注册由外部维护的单调递增值，例如缓存命中数、GC次数
+     * @param labels 标签名和标签值交替排列
+     */
+    public void functionCounter(String name, String help, DoubleSupplier supplier, String... labels) {
+        family(name, help, Type.COUNTER).metrics.putIfAbsent(labels(labels), new Sampled(supplier));
+    }
+
+    /**
+     * 输出全部指标
+     */
+    public String scrape() {
+        bindOnce();
+        StringBuilder out = new StringBuilder(8192);
+        for (Family family : families.values()) {
+            if (family.metrics.isEmpty()) {
+                continue;
+            }
+            out.append("# HELP ").append(family.name).append(' ').append(escapeHelp(family.help)).append('\n');
+            out.append("# TYPE ").append(family.name).append(' ').append(family.type.text).append('\n');
+            for (Map.Entry<String, Metric> entry : family.metrics.entrySet()) {
+                entry.getValue().write(out, family.name, entry.getKey());
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * 懒加载模式下各组件在首次使用时才创建，JVM、缓存等仪表统一在第一次抓取时注册
+     */
+    private void bindOnce() {
+        if (bound) {
+            return;
+        }
+        synchronized (this) {
+            if (!bound) {
+                binders.orderedStream().forEach(binder -> binder.bindTo(this));
+                bound = true;
+            }
+        }
+    }
+
+    private Family family(String name, String help, Type type) {
+        Family family = families.computeIfAbsent(name, key -> new Family(name, help, type));
+        if (family.type != type) {
+            throw new IllegalArgumentException("指标" + name + "已注册为" + family.type.text);
+        }
+        return family;
+    }
+
+    /**
+     * 生成标签串，例如 method="get",code="200"，同时作为同一指标族内的键
+     */
+    private static String labels(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("标签名和标签值必须成对出现");
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(labels[i]).append("=\"").append(escapeLabel(labels[i + 1])).append('"');
+        }
+        return builder.toString();
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escapeHelp(String value) {
+        return value.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(format(value)).append('\n');
+    }
+
+    static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private enum Type {
+        COUNTER("counter"), GAUGE("gauge"), HISTOGRAM("histogram");
+
+        private final String text;
+
+        Type(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * 同名指标族，标签串按字典序排列，保证输出稳定
+     */
+    private static final class Family {
+        private final String name;
+        private final String help;
+        private final Type type;
+        private final ConcurrentMap<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+        private Family(String name, String help, Type type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    interface Metric {
+        void write(StringBuilder out, String name, String labels);
+    }
+
+    /**
+     * 抓取时读取的数值
+     */
+    private static final class Sampled implements Metric {
+        private final DoubleSupplier supplier;
+
+        private Sampled(DoubleSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            sample(out, name, labels, supplier.getAsDouble());
+        }
+    }
+}
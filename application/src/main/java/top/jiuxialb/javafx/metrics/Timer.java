@@ -0,0 +1,81 @@
+package top.jiuxialb.javafx.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 耗时分布，固定分桶的直方图
+ * 每个桶是独立的LongAdder，记录一次只累加一个桶和总耗时；桶的累计值在抓取时才计算，
+ * 总次数取各桶之和，保证同一次抓取中_count与+Inf桶一致。
+ */
+public final class Timer implements MetricsRegistry.Metric {
+
+    /**
+     * 桶上界（秒），覆盖缓存命中的亚毫秒级到导入、导出的秒级
+     */
+    private static final double[] BUCKETS = {
+            0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+
+    private static final long[] BUCKET_NANOS = new long[BUCKETS.length];
+
+    private static final String[] BUCKET_LABELS = new String[BUCKETS.length];
+
+    static {
+        for (int i = 0; i < BUCKETS.length; i++) {
+            BUCKET_NANOS[i] = (long) (BUCKETS[i] * 1_000_000_000L);
+            BUCKET_LABELS[i] = "le=\"" + MetricsRegistry.format(BUCKETS[i]) + "\"";
+        }
+    }
+
+    /**
+     * 最后一个是+Inf桶
+     */
+    private final LongAdder[] counts = new LongAdder[BUCKETS.length + 1];
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    Timer() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录从startNanos（System.nanoTime()）到现在的耗时
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public void record(long duration, TimeUnit unit) {
+        record(unit.toNanos(duration));
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        int bucket = 0;
+        while (bucket < BUCKET_NANOS.length && nanos > BUCKET_NANOS[bucket]) {
+            bucket++;
+        }
+        counts[bucket].increment();
+        totalNanos.add(nanos);
+    }
+
+    @Override
+    public void write(StringBuilder out, String name, String labels) {
+        String bucketName = name + "_bucket";
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS.length; i++) {
+            cumulative += counts[i].sum();
+            MetricsRegistry.sample(out, bucketName, prefix + BUCKET_LABELS[i], cumulative);
+        }
+        cumulative += counts[BUCKETS.length].sum();
+        MetricsRegistry.sample(out, bucketName, prefix + "le=\"+Inf\"", cumulative);
+        MetricsRegistry.sample(out, name + "_sum", labels, totalNanos.sum() / 1e9);
+        MetricsRegistry.sample(out, name + "_count", labels, cumulative);
+    }
+}
@@ -0,0 +1,34 @@
+package top.jiuxialb.javafx.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import top.jiuxialb.javafx.cache.UserCache;
+
+/**
+ * 用户缓存的命中、淘汰和容量，直接读取UserCache已有的统计，不额外计数
+ */
+@Component
+public class UserCacheMetrics implements MetricsBinder {
+
+    @Autowired
+    private UserCache userCache;
+
+    @Override
+    public void bindTo(MetricsRegistry registry) {
+        registry.functionCounter("user_cache_hits_total", "用户缓存命中次数（含不存在结果的命中）",
+                () -> userCache.stats().getHits());
+        registry.functionCounter("user_cache_negative_hits_total", "“用户不存在”结果的命中次数",
+                () -> userCache.stats().getNegativeHits());
+        registry.functionCounter("user_cache_misses_total", "用户缓存未命中次数",
+                () -> userCache.stats().getMisses());
+        registry.functionCounter("user_cache_removals_total", "用户缓存移除的条目数",
+                () -> userCache.stats().getEvictions(), "cause", "size");
+        registry.functionCounter("user_cache_removals_total", "用户缓存移除的条目数",
+                () -> userCache.stats().getExpirations(), "cause", "expired");
+        registry.functionCounter("user_cache_removals_total", "用户缓存移除的条目数",
+                () -> userCache.stats().getInvalidations(), "cause", "invalidated");
+        registry.gauge("user_cache_hit_ratio", "用户缓存命中率", () -> userCache.stats().getHitRatio());
+        registry.gauge("user_cache_size", "用户缓存当前条目数", () -> userCache.stats().getSize());
+        registry.gauge("user_cache_max_size", "用户缓存容量", () -> userCache.stats().getMaxSize());
+    }
+}
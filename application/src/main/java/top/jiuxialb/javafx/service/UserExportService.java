@@ -0,0 +1,20 @@
+package top.jiuxialb.javafx.service;
+
+import top.jiuxialb.javafx.common.DataFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 用户数据导出
+ */
+public interface UserExportService {
+
+    /**
+     * 以流的方式导出全部用户，内存占用与数据量无关
+     * @param format 导出格式
+     * @param out 输出流，由调用方负责关闭
+     * @return 导出的行数
+     */
+    long export(DataFormat format, OutputStream out) throws IOException;
+}
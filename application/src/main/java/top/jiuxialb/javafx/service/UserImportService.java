@@ -0,0 +1,35 @@
+package top.jiuxialb.javafx.service;
+
+import top.jiuxialb.javafx.common.DataFormat;
+import top.jiuxialb.javafx.common.ImportJob;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 用户数据导入
+ */
+public interface UserImportService {
+
+    /**
+     * 启动后台导入任务，文件按块增量解析并分批写入
+     * @param file 待导入的文件
+     * @param fileName 原始文件名，仅用于展示
+     * @param format 文件格式
+     * @param deleteWhenDone 导入结束后是否删除文件（上传产生的临时文件）
+     * @return 导入任务，可通过getJob查询进度
+     */
+    ImportJob startImport(Path file, String fileName, DataFormat format, boolean deleteWhenDone) throws IOException;
+
+    /**
+     * 查询导入任务
+     * @return 任务，不存在时返回null
+     */
+    ImportJob getJob(String jobId);
+
+    /**
+     * 最近的导入任务，按创建时间倒序
+     */
+    List<ImportJob> listJobs();
+}
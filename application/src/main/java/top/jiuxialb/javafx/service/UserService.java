@@ -1,8 +1,97 @@
 package top.jiuxialb.javafx.service;
 
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import top.jiuxialb.javafx.common.BatchResult;
+import top.jiuxialb.javafx.common.CursorPage;
+import top.jiuxialb.javafx.common.UserField;
+import top.jiuxialb.javafx.common.UserQuery;
 import top.jiuxialb.javafx.entity.User;
 
+import java.util.List;
+import java.util.Set;
+
 public interface UserService extends IService<User> {
-    // 可以在此处定义业务方法
-}
\ No newline at end of file
+
+    /**
+     * 按条件查询用户，只读取选定的列
+     * @param fields 选定的字段，null表示全部字段
+     */
+    List<User> listUsers(UserQuery query, Set<UserField> fields);
+
+    /**
+     * 按条件分页查询用户，只读取选定的列
+     * 没有过滤条件时总数取自计数表，不执行COUNT查询
+     * @param withTotal 是否统计总条数，为false时返回的分页结果searchCount为false
+     * @param fields 选定的字段，null表示全部字段
+     */
+    Page<User> pageUsers(long page, long size, UserQuery query, boolean withTotal, Set<UserField> fields);
+
+    /**
+     * 根据ID查询用户（经过缓存）
+     * @return 用户，不存在时返回null
+     */
+    User getUserById(Long id);
+
+    /**
+     * 根据邮箱查询用户（经过缓存）
+     * @return 用户，不存在时返回null
+     */
+    User getUserByEmail(String email);
+
+    /**
+     * 创建用户
+     * @return 创建后的用户（已回填ID）
+     */
+    User createUser(User user);
+
+    /**
+     * 更新用户
+     * @return 更新后的用户
+     * @throws top.jiuxialb.javafx.exception.UserNotFoundException 用户不存在
+     */
+    User updateUser(Long id, User user);
+
+    /**
+     * 删除用户
+     * @throws top.jiuxialb.javafx.exception.UserNotFoundException 用户不存在
+     */
+    void deleteUser(Long id);
+
+    /**
+     * 基于主键的游标分页
+     * @param cursor 上一次返回的nextCursor或prevCursor，为空表示第一页
+     * @param size 每页条数
+     * @param withTotal 是否返回总条数
+     */
+    CursorPage<User> pageByCursor(String cursor, int size, boolean withTotal);
+
+    /**
+     * 批量创建用户，整批在一个事务内按块写入
+     * 校验失败、邮箱重复的项不会写入，并在结果中标记失败原因
+     */
+    BatchResult createUsers(List<User> users);
+
+    /**
+     * 导入已完成校验的用户，在一个事务内写入，跳过逐条校验
+     * 本批次内及数据库中已存在的邮箱不会写入，并在结果中标记失败原因
+     */
+    BatchResult importUsers(List<User> users);
+
+    /**
+     * 批量更新用户，每项必须带ID
+     */
+    BatchResult updateUsers(List<User> users);
+
+    /**
+     * 批量删除用户
+     */
+    BatchResult deleteUsers(List<Long> ids);
+
+    /**
+     * 按姓名和邮箱搜索用户，结果按相关度排序
+     * @param keyword 关键字，3个字符及以上走全文索引做子串匹配，更短的按前缀匹配
+     * @param fuzzy 是否模糊匹配（容忍拼写错误，按共有的三字组数量排序）
+     */
+    Page<User> search(String keyword, long page, long size, boolean fuzzy);
+}
@@ -0,0 +1,139 @@
+package top.jiuxialb.javafx.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import top.jiuxialb.javafx.common.DataFormat;
+import top.jiuxialb.javafx.entity.User;
+import top.jiuxialb.javafx.mapper.UserMapper;
+import top.jiuxialb.javafx.service.UserExportService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@Service
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final String CSV_HEADER = "id,name,email,age,createdAt,updatedAt";
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ObjectWriter rowWriter;
+
+    @PostConstruct
+    public void init() {
+        // ObjectMapper默认每写一个值就flush一次，逐行导出时会把每行变成一次单独的写出
+        rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public long export(DataFormat format, OutputStream out) throws IOException {
+        try {
+            return format == DataFormat.CSV ? exportCsv(out) : exportNdjson(out);
+        } catch (RuntimeException e) {
+            // 客户端中途断开等写出错误会被MyBatis层层包装，这里还原为IOException
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) cause).getCause();
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 每行一个JSON对象，复用同一个JsonGenerator
+     * 写出不逐行flush，生成器缓冲区满时才写入输出流，结束时关闭生成器统一flush
+     */
+    private long exportNdjson(OutputStream out) throws IOException {
+        long[] rows = {0};
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // 同一个生成器连续写多个根值时默认以空格分隔，会出现在第二行起的行首
+            generator.setRootValueSeparator(null);
+            userMapper.streamAll(context -> {
+                try {
+                    rowWriter.writeValue(generator, context.getResultObject());
+                    generator.writeRaw('\n');
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return rows[0];
+    }
+
+    private long exportCsv(OutputStream out) throws IOException {
+        long[] rows = {0};
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        userMapper.streamAll(context -> {
+            User user = context.getResultObject();
+            try {
+                writer.write(String.valueOf(user.getId()));
+                writer.write(',');
+                writeCsvField(writer, user.getName());
+                writer.write(',');
+                writeCsvField(writer, user.getEmail());
+                writer.write(',');
+                writeCsvField(writer, user.getAge());
+                writer.write(',');
+                writeCsvField(writer, formatDateTime(user.getCreatedAt()));
+                writer.write(',');
+                writeCsvField(writer, formatDateTime(user.getUpdatedAt()));
+                writer.write('\n');
+                rows[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return rows[0];
+    }
+
+    /**
+     * 与JSON输出（UserJsonModule）一致，按ISO_LOCAL_DATE_TIME输出，秒为0时也保留秒
+     */
+    private static String formatDateTime(LocalDateTime value) {
+        return value != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value) : null;
+    }
+
+    /**
+     * 按RFC 4180转义：包含逗号、引号或换行的字段加引号，内部引号双写
+     */
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,371 @@
+package top.jiuxialb.javafx.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import top.jiuxialb.javafx.common.BatchResult;
+import top.jiuxialb.javafx.common.CsvReader;
+import top.jiuxialb.javafx.common.DataFormat;
+import top.jiuxialb.javafx.common.ImportJob;
+import top.jiuxialb.javafx.entity.User;
+import top.jiuxialb.javafx.service.UserImportService;
+import top.jiuxialb.javafx.service.UserService;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    /**
+     * 错误行中保留的原始内容最大长度
+     */
+    private static final int MAX_RAW_LENGTH = 200;
+
+    /**
+     * 最多保留的任务数，超出后移除最早结束的任务
+     */
+    private static final int MAX_RETAINED_JOBS = 50;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.user.batch-chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.virtual-threads.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        // 导入最终都要排队使用唯一的写连接，单线程顺序执行即可
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("user-import").factory()
+                : Thread.ofPlatform().name("user-import").daemon(true).factory();
+        executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public ImportJob startImport(Path file, String fileName, DataFormat format, boolean deleteWhenDone) throws IOException {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), fileName, format, Files.size(file));
+        jobs.put(job.getId(), job);
+        evictFinishedJobs();
+        executor.execute(() -> run(job, file, deleteWhenDone));
+        logger.info("导入任务已提交: id={}, file={}, format={}", job.getId(), fileName, format);
+        return job;
+    }
+
+    @Override
+    public ImportJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    @Override
+    public List<ImportJob> listJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparingLong(ImportJob::getCreatedAt).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private void run(ImportJob job, Path file, boolean deleteWhenDone) {
+        job.setStatus(ImportJob.Status.RUNNING);
+        job.setStartedAt(System.currentTimeMillis());
+        int size = Math.max(1, chunkSize);
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(file));
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024)) {
+            RowSource source = job.getFormat() == DataFormat.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+            Set<String> seenEmails = new HashSet<>();
+            List<Row> chunk = new ArrayList<>(size);
+            Row row;
+            while ((row = source.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() >= size) {
+                    flush(job, chunk, seenEmails);
+                    chunk.clear();
+                    job.setBytesRead(in.getCount());
+                }
+            }
+            flush(job, chunk, seenEmails);
+            job.setBytesRead(in.getCount());
+            job.setStatus(ImportJob.Status.COMPLETED);
+        } catch (Exception e) {
+            logger.error("导入任务失败: id={}", job.getId(), e);
+            job.setMessage(e.getMessage());
+            job.setStatus(ImportJob.Status.FAILED);
+        } finally {
+            job.setFinishedAt(System.currentTimeMillis());
+            if (deleteWhenDone) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    logger.warn("删除导入临时文件失败: {}", file, e);
+                }
+            }
+            logger.info("导入任务结束: id={}, status={}, processed={}, imported={}, failed={}",
+                    job.getId(), job.getStatus(), job.getProcessedRows(), job.getImportedRows(), job.getFailedRows());
+        }
+    }
+
+    /**
+     * 处理一块数据：并行校验、文件内去重，然后在一个事务中写入
+     */
+    private void flush(ImportJob job, List<Row> chunk, Set<String> seenEmails) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        chunk.parallelStream()
+                .filter(row -> row.error == null)
+                .forEach(row -> row.error = validate(row.user));
+
+        List<Row> valid = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.error != null) {
+                job.addError(row.line, row.error, row.raw);
+            } else if (!seenEmails.add(row.user.getEmail())) {
+                job.addError(row.line, "文件中邮箱重复: " + row.user.getEmail(), row.raw);
+            } else {
+                valid.add(row);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            BatchResult result = userService.importUsers(valid.stream().map(row -> row.user).collect(Collectors.toList()));
+            for (BatchResult.Item item : result.getItems()) {
+                Row row = valid.get(item.getIndex());
+                if (!item.isSuccess()) {
+                    job.addError(row.line, item.getMessage(), row.raw);
+                }
+            }
+            job.addImportedRows(result.getSuccessCount());
+        }
+        job.addProcessedRows(chunk.size());
+    }
+
+    private String validate(User user) {
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining("; "));
+    }
+
+    /**
+     * 任务数超出上限时，移除最早结束的任务
+     */
+    private void evictFinishedJobs() {
+        if (jobs.size() <= MAX_RETAINED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(ImportJob::isFinished)
+                .sorted(Comparator.comparingLong(ImportJob::getFinishedAt))
+                .limit(jobs.size() - MAX_RETAINED_JOBS)
+                .map(ImportJob::getId)
+                .collect(Collectors.toList())
+                .forEach(jobs::remove);
+    }
+
+    private static String truncate(String raw) {
+        return raw.length() <= MAX_RAW_LENGTH ? raw : raw.substring(0, MAX_RAW_LENGTH) + "...";
+    }
+
+    /**
+     * 解析出的一行数据，解析失败时error不为空
+     */
+    private static final class Row {
+        private final long line;
+        private final String raw;
+        private final User user;
+        private volatile String error;
+
+        private Row(long line, String raw, User user, String error) {
+            this.line = line;
+            this.raw = truncate(raw);
+            this.user = user;
+            this.error = error;
+        }
+    }
+
+    private interface RowSource {
+        /**
+         * @return 下一行，到达末尾时返回null
+         */
+        Row next() throws IOException;
+    }
+
+    /**
+     * CSV数据源，第一行为表头，按列名取name、email、age
+     */
+    private static final class CsvRowSource implements RowSource {
+
+        private final CsvReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private CsvRowSource(BufferedReader reader) throws IOException {
+            this.reader = new CsvReader(reader);
+            List<String> header = this.reader.readRecord();
+            if (header == null) {
+                return;
+            }
+            for (int i = 0; i < header.size(); i++) {
+                // 去掉可能存在的UTF-8 BOM
+                columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(), i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("email")) {
+                throw new IOException("CSV表头必须包含name和email列");
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            List<String> record;
+            do {
+                record = reader.readRecord();
+            } while (record != null && record.size() == 1 && record.get(0).isBlank());
+            if (record == null) {
+                return null;
+            }
+            String raw = String.join(",", record);
+            User user = new User();
+            user.setName(column(record, "name"));
+            user.setEmail(column(record, "email"));
+            String age = column(record, "age");
+            if (age != null && !age.isBlank()) {
+                try {
+                    user.setAge(Integer.valueOf(age.trim()));
+                } catch (NumberFormatException e) {
+                    return new Row(reader.getRecordLineNumber(), raw, user, "年龄格式不正确: " + age);
+                }
+            }
+            return new Row(reader.getRecordLineNumber(), raw, user, null);
+        }
+
+        private String column(List<String> record, String name) {
+            Integer index = columns.get(name);
+            return index != null && index < record.size() ? record.get(index).trim() : null;
+        }
+    }
+
+    /**
+     * NDJSON数据源，每行一个JSON对象，单行解析失败不影响其他行
+     */
+    private final class NdjsonRowSource implements RowSource {
+
+        private final BufferedReader reader;
+        private final ObjectReader userReader = objectMapper.readerFor(User.class);
+        private long lineNumber;
+
+        private NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            try {
+                User user = userReader.readValue(line);
+                // ID和时间字段由数据库生成
+                user.setId(null);
+                user.setCreatedAt(null);
+                user.setUpdatedAt(null);
+                return new Row(lineNumber, line, user, null);
+            } catch (JsonProcessingException e) {
+                return new Row(lineNumber, line, null, "JSON格式不正确: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * 统计已读取字节数，用于估算进度
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        private long getCount() {
+            return count;
+        }
+    }
+}
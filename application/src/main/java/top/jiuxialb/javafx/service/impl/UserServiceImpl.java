@@ -1,13 +1,538 @@
 package top.jiuxialb.javafx.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import top.jiuxialb.javafx.cache.UserCache;
+import top.jiuxialb.javafx.cache.UserTableVersion;
+import top.jiuxialb.javafx.common.BatchResult;
+import top.jiuxialb.javafx.common.CursorPage;
+import top.jiuxialb.javafx.common.KeysetCursor;
+import top.jiuxialb.javafx.common.UserField;
+import top.jiuxialb.javafx.common.UserQuery;
 import top.jiuxialb.javafx.entity.User;
+import top.jiuxialb.javafx.event.UserChangeFeed;
+import top.jiuxialb.javafx.exception.BusinessException;
+import top.jiuxialb.javafx.exception.UserCreationException;
+import top.jiuxialb.javafx.exception.UserNotFoundException;
 import top.jiuxialb.javafx.mapper.UserMapper;
 import top.jiuxialb.javafx.service.UserService;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
 @Service
 public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService {
-    // 继承ServiceImpl后已拥有常用的CRUD方法
-    // 可以在此处实现自定义的业务逻辑
-}
\ No newline at end of file
+
+    /**
+     * 批量写入时单条SQL允许的最大行数，避免超出SQLite绑定变量上限
+     */
+    private static final int MAX_BATCH_CHUNK_SIZE = 1000;
+
+    /**
+     * trigram分词的最小匹配长度
+     */
+    private static final int FTS_MIN_TERM_LENGTH = 3;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private UserWriteQueue userWriteQueue;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private UserTableVersion userTableVersion;
+
+    @Autowired
+    private UserChangeFeed userChangeFeed;
+
+    @Value("${app.user.batch-chunk-size:500}")
+    private int batchChunkSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public List<User> listUsers(UserQuery query, Set<UserField> fields) {
+        return list(queryWrapper(query, fields));
+    }
+
+    @Override
+    public Page<User> pageUsers(long page, long size, UserQuery query, boolean withTotal, Set<UserField> fields) {
+        QueryWrapper<User> wrapper = queryWrapper(query, fields);
+        boolean filtered = !wrapper.isEmptyOfWhere();
+        // 只有带过滤条件时才交给分页插件执行COUNT
+        Page<User> result = page(new Page<>(page, size, withTotal && filtered), wrapper);
+        if (withTotal && !filtered) {
+            result.setTotal(baseMapper.countAll());
+            result.setSearchCount(true);
+        }
+        return result;
+    }
+
+    @Override
+    public User getUserById(Long id) {
+        return userCache.getById(id, this::getById);
+    }
+
+    @Override
+    public User getUserByEmail(String email) {
+        return userCache.getByEmail(email, key -> getOne(new LambdaQueryWrapper<User>().eq(User::getEmail, key)));
+    }
+
+    @Override
+    public User createUser(User user) {
+        try {
+            User created;
+            if (userWriteQueue.isEnabled()) {
+                created = await(userWriteQueue.submitCreate(user));
+            } else if (save(user)) {
+                created = user;
+            } else {
+                throw new UserCreationException();
+            }
+            userChangeFeed.created(List.of(created));
+            return created;
+        } finally {
+            // 清除该ID/邮箱上缓存的“不存在”结果
+            userCache.invalidate(user.getId(), user.getEmail());
+            userTableVersion.markChanged();
+        }
+    }
+
+    @Override
+    public User updateUser(Long id, User user) {
+        user.setId(id);
+        try {
+            User updated;
+            if (userWriteQueue.isEnabled()) {
+                updated = await(userWriteQueue.submitUpdate(user));
+            } else {
+                // SQLite按匹配行数返回影响条数，未更新即说明用户不存在，无需再查一次
+                if (!updateById(user)) {
+                    throw new UserNotFoundException(id);
+                }
+                // 再次查询获取完整的用户信息（包含创建时间等未提交的字段）
+                updated = getById(id);
+            }
+            userChangeFeed.updated(List.of(updated));
+            return updated;
+        } finally {
+            userCache.invalidate(id, user.getEmail());
+            userTableVersion.markChanged();
+        }
+    }
+
+    @Override
+    public void deleteUser(Long id) {
+        try {
+            if (userWriteQueue.isEnabled()) {
+                await(userWriteQueue.submitDelete(id));
+            } else if (!removeById(id)) {
+                throw new UserNotFoundException(id);
+            }
+            userChangeFeed.deleted(List.of(id));
+        } finally {
+            userCache.invalidate(id, null);
+            userTableVersion.markChanged();
+        }
+    }
+
+    @Override
+    public CursorPage<User> pageByCursor(String cursor, int size, boolean withTotal) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        boolean forward = position == null || position.isForward();
+
+        // 按主键定位，多取一条用于判断是否还有更多数据；不做COUNT查询
+        LambdaQueryWrapper<User> wrapper = new LambdaQueryWrapper<>();
+        if (position != null) {
+            wrapper.gt(forward, User::getId, position.getId())
+                    .lt(!forward, User::getId, position.getId());
+        }
+        wrapper.orderBy(true, forward, User::getId);
+        List<User> rows = new ArrayList<>(baseMapper.selectPage(new Page<>(1, size + 1, false), wrapper).getRecords());
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows.remove(rows.size() - 1);
+        }
+        if (!forward) {
+            Collections.reverse(rows);
+        }
+
+        CursorPage<User> result = new CursorPage<>(rows, size);
+        if (!rows.isEmpty()) {
+            long firstId = rows.get(0).getId();
+            long lastId = rows.get(rows.size() - 1).getId();
+            // 向后翻页时，只要不是从头开始就存在上一页；向前翻页同理必然存在下一页
+            if (forward ? hasMore : position != null) {
+                result.setNextCursor(KeysetCursor.after(lastId).encode());
+            }
+            if (forward ? position != null : hasMore) {
+                result.setPrevCursor(KeysetCursor.before(firstId).encode());
+            }
+        }
+        if (withTotal) {
+            result.setTotal(baseMapper.countAll());
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResult createUsers(List<User> users) {
+        return writeBatch(() -> insertUsers(users, true));
+    }
+
+    @Override
+    public BatchResult importUsers(List<User> users) {
+        return writeBatch(() -> insertUsers(users, false));
+    }
+
+    /**
+     * 执行批量写操作，整批在一个事务中，失败时回滚
+     * 启用写队列时交给写线程执行，与单条写操作一样不再争抢SQLite写锁；
+     * 因此不能用@Transactional，否则调用线程会在等待期间额外占用一个写连接
+     */
+    private BatchResult writeBatch(Supplier<BatchResult> action) {
+        if (userWriteQueue.isEnabled()) {
+            return await(userWriteQueue.submitBatch(action));
+        }
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    /**
+     * 批量插入，数据库中已存在的邮箱不会写入
+     * @param validate 是否按实体约束校验，调用方已校验过时可跳过
+     */
+    private BatchResult insertUsers(List<User> users, boolean validate) {
+        BatchResult result = new BatchResult();
+        Set<String> seenEmails = new HashSet<>();
+        List<Integer> pending = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            String error = validate ? validate(user) : null;
+            if (error != null) {
+                result.fail(i, null, error);
+            } else if (!seenEmails.add(user.getEmail())) {
+                result.fail(i, null, "邮箱在本批次中重复: " + user.getEmail());
+            } else {
+                pending.add(i);
+            }
+        }
+
+        for (List<Integer> chunk : chunks(pending)) {
+            Set<String> emails = chunk.stream().map(i -> users.get(i).getEmail()).collect(Collectors.toSet());
+            Set<String> existingEmails = baseMapper.selectIdsByEmails(emails).stream()
+                    .map(User::getEmail)
+                    .collect(Collectors.toSet());
+
+            // 多行INSERT不会触发自动填充，这里统一补齐时间字段
+            LocalDateTime now = LocalDateTime.now();
+            List<Integer> inserted = new ArrayList<>(chunk.size());
+            List<User> rows = new ArrayList<>(chunk.size());
+            for (int i : chunk) {
+                User user = users.get(i);
+                if (existingEmails.contains(user.getEmail())) {
+                    result.fail(i, null, "邮箱已存在: " + user.getEmail());
+                    continue;
+                }
+                user.setId(null);
+                user.setCreatedAt(now);
+                user.setUpdatedAt(now);
+                inserted.add(i);
+                rows.add(user);
+            }
+            if (rows.isEmpty()) {
+                continue;
+            }
+            baseMapper.insertBatch(rows);
+
+            // SQLite的多行INSERT只能拿到最后一个自增ID，按唯一邮箱回查ID
+            Map<String, Long> ids = baseMapper.selectIdsByEmails(
+                            rows.stream().map(User::getEmail).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(User::getEmail, User::getId));
+            for (int i : inserted) {
+                User user = users.get(i);
+                user.setId(ids.get(user.getEmail()));
+                result.success(i, user.getId());
+            }
+            userCache.invalidateAll(ids.values(), ids.keySet());
+            userTableVersion.markChanged();
+            userChangeFeed.created(rows);
+        }
+        return result.sorted();
+    }
+
+    @Override
+    public BatchResult updateUsers(List<User> users) {
+        return writeBatch(() -> doUpdateUsers(users));
+    }
+
+    private BatchResult doUpdateUsers(List<User> users) {
+        BatchResult result = new BatchResult();
+        Set<Long> seenIds = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Integer> pending = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            Long id = user != null ? user.getId() : null;
+            String error = id == null ? "缺少用户ID" : validate(user);
+            if (error != null) {
+                result.fail(i, id, error);
+            } else if (!seenIds.add(id)) {
+                result.fail(i, id, "用户在本批次中重复: " + id);
+            } else if (!seenEmails.add(user.getEmail())) {
+                result.fail(i, id, "邮箱在本批次中重复: " + user.getEmail());
+            } else {
+                pending.add(i);
+            }
+        }
+
+        for (List<Integer> chunk : chunks(pending)) {
+            Set<Long> existingIds = selectExistingIds(chunk.stream().map(i -> users.get(i).getId()).collect(Collectors.toList()));
+            Map<String, Long> emailOwners = new HashMap<>();
+            for (User owner : baseMapper.selectIdsByEmails(
+                    chunk.stream().map(i -> users.get(i).getEmail()).collect(Collectors.toList()))) {
+                emailOwners.put(owner.getEmail(), owner.getId());
+            }
+
+            List<Integer> updated = new ArrayList<>(chunk.size());
+            List<User> rows = new ArrayList<>(chunk.size());
+            for (int i : chunk) {
+                User user = users.get(i);
+                Long owner = emailOwners.get(user.getEmail());
+                if (!existingIds.contains(user.getId())) {
+                    result.fail(i, user.getId(), "用户不存在");
+                } else if (owner != null && !owner.equals(user.getId())) {
+                    result.fail(i, user.getId(), "邮箱已被其他用户使用: " + user.getEmail());
+                } else {
+                    updated.add(i);
+                    rows.add(user);
+                }
+            }
+            if (rows.isEmpty()) {
+                continue;
+            }
+            // 复用同一个PreparedStatement以JDBC批处理方式执行
+            updateBatchById(rows, rows.size());
+            for (int i : updated) {
+                result.success(i, users.get(i).getId());
+            }
+            userCache.invalidateAll(
+                    rows.stream().map(User::getId).collect(Collectors.toList()),
+                    rows.stream().map(User::getEmail).collect(Collectors.toList()));
+            userTableVersion.markChanged();
+            userChangeFeed.updated(rows);
+        }
+        return result.sorted();
+    }
+
+    @Override
+    public BatchResult deleteUsers(List<Long> ids) {
+        return writeBatch(() -> doDeleteUsers(ids));
+    }
+
+    private BatchResult doDeleteUsers(List<Long> ids) {
+        BatchResult result = new BatchResult();
+        Set<Long> seenIds = new HashSet<>();
+        List<Integer> pending = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                result.fail(i, null, "缺少用户ID");
+            } else if (!seenIds.add(id)) {
+                result.fail(i, id, "用户在本批次中重复: " + id);
+            } else {
+                pending.add(i);
+            }
+        }
+
+        for (List<Integer> chunk : chunks(pending)) {
+            Set<Long> existingIds = selectExistingIds(chunk.stream().map(ids::get).collect(Collectors.toList()));
+            for (int i : chunk) {
+                if (existingIds.contains(ids.get(i))) {
+                    result.success(i, ids.get(i));
+                } else {
+                    result.fail(i, ids.get(i), "用户不存在");
+                }
+            }
+            if (!existingIds.isEmpty()) {
+                baseMapper.deleteBatchIds(existingIds);
+                userCache.invalidateAll(existingIds, Collections.emptyList());
+                userTableVersion.markChanged();
+                userChangeFeed.deleted(existingIds);
+            }
+        }
+        return result.sorted();
+    }
+
+    @Override
+    public Page<User> search(String keyword, long page, long size, boolean fuzzy) {
+        String text = keyword.trim();
+        if (text.codePointCount(0, text.length()) < FTS_MIN_TERM_LENGTH) {
+            // trigram索引无法匹配不足3个字符的词，改为按前缀做范围查询
+            String upper = text + Character.MAX_VALUE;
+            LambdaQueryWrapper<User> wrapper = new LambdaQueryWrapper<User>()
+                    .and(w -> w.ge(User::getName, text).lt(User::getName, upper))
+                    .or(w -> w.ge(User::getEmail, text).lt(User::getEmail, upper))
+                    .orderByAsc(User::getId);
+            return page(new Page<>(page, size), wrapper);
+        }
+
+        String match = fuzzy ? fuzzyMatchExpression(text) : phrase(text);
+        long total = baseMapper.countFullText(match);
+        Page<User> result = new Page<>(page, size, total);
+        if (total > (page - 1) * size) {
+            result.setRecords(baseMapper.searchFullText(match, size, (page - 1) * size));
+        }
+        return result;
+    }
+
+    /**
+     * 整个关键字作为一个短语，trigram分词下即子串匹配
+     */
+    private static String phrase(String text) {
+        return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * 把关键字拆成三字组后用OR连接，部分拼错的关键字仍能命中，共有三字组越多排名越靠前
+     */
+    private static String fuzzyMatchExpression(String text) {
+        int[] codePoints = text.codePoints().toArray();
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + FTS_MIN_TERM_LENGTH <= codePoints.length; i++) {
+            trigrams.add(phrase(new String(codePoints, i, FTS_MIN_TERM_LENGTH)));
+        }
+        return String.join(" OR ", trigrams);
+    }
+
+    /**
+     * 等待写队列完成，并还原原始异常以便全局异常处理器按类型处理
+     * 超时后写操作可能仍会执行，调用方只能得知结果未知
+     */
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(userWriteQueue.getAwaitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new BusinessException(503, "写入超时，请稍后确认结果");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(503, "写入被中断");
+        }
+    }
+
+    /**
+     * 按实体上的jakarta约束校验
+     * @return 校验失败信息，通过时返回null
+     */
+    private String validate(User user) {
+        if (user == null) {
+            return "用户数据不能为空";
+        }
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining("; "));
+    }
+
+    /**
+     * 按过滤、排序条件和选定的列构造查询，未选定的属性保持为null
+     * 包级可见，供测试检查各种条件组合的查询计划
+     */
+    static QueryWrapper<User> queryWrapper(UserQuery query, Set<UserField> fields) {
+        QueryWrapper<User> wrapper = new QueryWrapper<>();
+        if (fields != null) {
+            wrapper.select(UserField.columns(fields));
+        }
+        String name = query.getName();
+        if (name != null && !name.isEmpty()) {
+            // 前缀匹配改写为范围查询，可以使用索引
+            wrapper.ge("name", name).lt("name", name + Character.MAX_VALUE);
+        }
+        wrapper.ge(query.getAgeMin() != null, "age", query.getAgeMin())
+                .le(query.getAgeMax() != null, "age", query.getAgeMax())
+                .ge(query.getCreatedFrom() != null, "created_at", query.getCreatedFrom())
+                .lt(query.getCreatedTo() != null, "created_at", query.getCreatedTo())
+                .ge(query.getUpdatedFrom() != null, "updated_at", query.getUpdatedFrom())
+                .lt(query.getUpdatedTo() != null, "updated_at", query.getUpdatedTo());
+
+        UserField sortField = query.getSortField();
+        boolean asc = !query.isDescending();
+        if (sortField != UserField.ID) {
+            // 主键作为第二排序字段保证翻页稳定，与索引的列顺序一致
+            wrapper.orderBy(true, asc, sortField.getColumn()).orderBy(true, asc, UserField.ID.getColumn());
+        } else if (wrapper.isEmptyOfWhere()) {
+            wrapper.orderBy(true, asc, UserField.ID.getColumn());
+        } else {
+            // 没有统计信息时，SQLite遇到单边范围条件倾向于按主键顺序扫描全表逐行过滤；
+            // "+id"使排序无法直接利用表的存储顺序，规划器改为按过滤条件走索引，再对命中的行排序
+            wrapper.orderBy(true, asc, "+" + UserField.ID.getColumn());
+        }
+        return wrapper;
+    }
+
+    /**
+     * 查询实际存在的ID，只读取主键列
+     */
+    private Set<Long> selectExistingIds(List<Long> ids) {
+        LambdaQueryWrapper<User> wrapper = new LambdaQueryWrapper<User>()
+                .select(User::getId)
+                .in(User::getId, ids);
+        return baseMapper.selectList(wrapper).stream()
+                .map(User::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * 按配置的块大小切分
+     */
+    private <E> List<List<E>> chunks(List<E> items) {
+        int chunkSize = Math.max(1, Math.min(batchChunkSize, MAX_BATCH_CHUNK_SIZE));
+        List<List<E>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(from + chunkSize, items.size())));
+        }
+        return chunks;
+    }
+}
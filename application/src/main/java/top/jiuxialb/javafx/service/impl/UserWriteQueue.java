@@ -0,0 +1,331 @@
+package top.jiuxialb.javafx.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import top.jiuxialb.javafx.entity.User;
+import top.jiuxialb.javafx.exception.BusinessException;
+import top.jiuxialb.javafx.exception.UserNotFoundException;
+import top.jiuxialb.javafx.mapper.UserMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 用户写操作队列
+ * 所有写操作进入有界队列，由单个写线程取出后按组提交（group commit），
+ * 多个写操作共用一次事务提交和一次fsync，同时避免多个线程争抢SQLite写锁导致SQLITE_BUSY。
+ * 批量创建、更新、删除和导入也经过同一个写线程，但各自在单独的事务中执行，失败时整批回滚
+ */
+@Component
+public class UserWriteQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserWriteQueue.class);
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * 是否启用写队列，关闭时写操作由调用线程直接执行
+     */
+    @Value("${app.user.write-queue.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * 队列容量，队列满时提交会等待
+     */
+    @Value("${app.user.write-queue.capacity:1024}")
+    private int capacity;
+
+    /**
+     * 单次事务最多包含的写操作数
+     */
+    @Value("${app.user.write-queue.batch-size:64}")
+    private int batchSize;
+
+    /**
+     * 取到第一个写操作后，等待更多操作凑成一组的最长时间（毫秒）
+     */
+    @Value("${app.user.write-queue.linger-ms:2}")
+    private long lingerMs;
+
+    /**
+     * 队列满时提交的最长等待时间（毫秒）
+     */
+    @Value("${app.user.write-queue.offer-timeout-ms:5000}")
+    private long offerTimeoutMs;
+
+    /**
+     * 调用方等待写操作完成的最长时间（毫秒）
+     */
+    @Value("${app.user.write-queue.await-timeout-ms:30000}")
+    private long awaitTimeoutMs;
+
+    private BlockingQueue<WriteOperation<?>> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        writerThread = new Thread(this::drainLoop, "user-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        logger.info("用户写队列已启动: capacity={}, batchSize={}, lingerMs={}", capacity, batchSize, lingerMs);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        // 写线程会在退出前处理完队列中剩余的操作
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getAwaitTimeoutMs() {
+        return awaitTimeoutMs;
+    }
+
+    /**
+     * 提交创建操作
+     * @return 创建后的用户（已回填ID）
+     */
+    public CompletableFuture<User> submitCreate(User user) {
+        return submit(new WriteOperation<>(() -> {
+            userMapper.insert(user);
+            return user;
+        }, false));
+    }
+
+    /**
+     * 提交更新操作，用户不存在时以UserNotFoundException结束
+     * @return 更新后的用户
+     */
+    public CompletableFuture<User> submitUpdate(User user) {
+        return submit(new WriteOperation<>(() -> {
+            if (userMapper.updateById(user) == 0) {
+                throw new UserNotFoundException(user.getId());
+            }
+            return userMapper.selectById(user.getId());
+        }, false));
+    }
+
+    /**
+     * 提交删除操作，用户不存在时以UserNotFoundException结束
+     */
+    public CompletableFuture<Void> submitDelete(Long id) {
+        return submit(new WriteOperation<>(() -> {
+            if (userMapper.deleteById(id) == 0) {
+                throw new UserNotFoundException(id);
+            }
+            return null;
+        }, false));
+    }
+
+    /**
+     * 提交批量操作，不与其他写操作合并，在单独的事务中执行
+     * 操作抛出异常时回滚整批，并以该异常结束
+     * @return 操作的返回值
+     */
+    public <T> CompletableFuture<T> submitBatch(Supplier<T> action) {
+        return submit(new WriteOperation<>(action::get, true));
+    }
+
+    private <T> CompletableFuture<T> submit(WriteOperation<T> operation) {
+        if (!running) {
+            throw new BusinessException(503, "用户写队列未启动");
+        }
+        try {
+            if (!queue.offer(operation, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new BusinessException(503, "写入繁忙，请稍后重试");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(503, "写入被中断");
+        }
+        // 入队前检查之后队列可能已经停止，写线程退出后入队的操作不会再被处理；
+        // 移除成功说明写线程没有取走它，移除失败则由写线程负责结束
+        if (!running && queue.remove(operation)) {
+            throw new BusinessException(503, "用户写队列已停止");
+        }
+        return operation.future;
+    }
+
+    /**
+     * 写线程主循环
+     */
+    private void drainLoop() {
+        List<WriteOperation<?>> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                WriteOperation<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collectBatch(batch);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("用户写队列处理异常", e);
+            } finally {
+                batch.clear();
+            }
+        }
+        // 异常退出时，让还在等待的调用方尽快失败
+        WriteOperation<?> left;
+        while ((left = queue.poll()) != null) {
+            left.future.completeExceptionally(new BusinessException(503, "用户写队列已停止"));
+        }
+    }
+
+    /**
+     * 在linger时间内尽量凑满一组
+     */
+    private void collectBatch(List<WriteOperation<?>> batch) throws InterruptedException {
+        queue.drainTo(batch, batchSize - batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            WriteOperation<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    /**
+     * 按入队顺序提交：相邻的单条操作合并为一个事务，批量操作各自单独提交
+     */
+    private void commit(List<WriteOperation<?>> batch) {
+        int start = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            WriteOperation<?> operation = batch.get(i);
+            if (operation.exclusive) {
+                commitGroup(batch.subList(start, i));
+                commitExclusive(operation);
+                start = i + 1;
+            }
+        }
+        commitGroup(batch.subList(start, batch.size()));
+    }
+
+    /**
+     * 在一个事务中执行整组操作，提交成功后再通知调用方
+     * 单个操作失败（如邮箱重复）只影响自己，SQLite会回滚该条语句而不是整个事务
+     */
+    private void commitGroup(List<WriteOperation<?>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (WriteOperation<?> operation : batch) {
+                    operation.execute();
+                }
+            });
+        } catch (Exception e) {
+            logger.error("用户写队列提交失败，本组共{}个操作", batch.size(), e);
+            for (WriteOperation<?> operation : batch) {
+                operation.future.completeExceptionally(e);
+            }
+            return;
+        }
+        for (WriteOperation<?> operation : batch) {
+            operation.complete();
+        }
+    }
+
+    /**
+     * 批量操作单独一个事务，操作失败时回滚整个事务
+     */
+    private void commitExclusive(WriteOperation<?> operation) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                operation.execute();
+                if (operation.failure != null) {
+                    status.setRollbackOnly();
+                }
+            });
+        } catch (Exception e) {
+            logger.error("用户写队列批量操作提交失败", e);
+            operation.future.completeExceptionally(e);
+            return;
+        }
+        operation.complete();
+    }
+
+    /**
+     * 队列中的单个写操作
+     */
+    private static final class WriteOperation<T> {
+
+        private final WriteAction<T> action;
+        /**
+         * 是否单独提交（批量操作）
+         */
+        private final boolean exclusive;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+        private RuntimeException failure;
+
+        private WriteOperation(WriteAction<T> action, boolean exclusive) {
+            this.action = action;
+            this.exclusive = exclusive;
+        }
+
+        private void execute() {
+            try {
+                result = action.run();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        private void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface WriteAction<T> {
+        T run();
+    }
+}
@@ -0,0 +1,26 @@
+-- 用户全文检索索引（外部内容表，数据仍只存储在user表中）
+-- trigram分词支持任意位置的子串匹配（包括前缀），对中文姓名同样有效
+CREATE VIRTUAL TABLE IF NOT EXISTS user_fts USING fts5(
+    name,
+    email,
+    content='user',
+    content_rowid='id',
+    tokenize='trigram'
+);
+
+-- 通过触发器保持索引与user表同步
+CREATE TRIGGER IF NOT EXISTS user_fts_after_insert AFTER INSERT ON user BEGIN
+    INSERT INTO user_fts(rowid, name, email) VALUES (new.id, new.name, new.email);
+END;
+
+CREATE TRIGGER IF NOT EXISTS user_fts_after_delete AFTER DELETE ON user BEGIN
+    INSERT INTO user_fts(user_fts, rowid, name, email) VALUES ('delete', old.id, old.name, old.email);
+END;
+
+CREATE TRIGGER IF NOT EXISTS user_fts_after_update AFTER UPDATE OF name, email ON user BEGIN
+    INSERT INTO user_fts(user_fts, rowid, name, email) VALUES ('delete', old.id, old.name, old.email);
+    INSERT INTO user_fts(rowid, name, email) VALUES (new.id, new.name, new.email);
+END;
+
+-- 为已有数据建立索引
+INSERT INTO user_fts(user_fts) VALUES ('rebuild');
@@ -0,0 +1,17 @@
+-- 统一时间格式：早期版本按sqlite-jdbc默认方式存成了毫秒时间戳，部分文本带毫秒或ISO格式的'T'
+-- 范围过滤和排序按文本比较，格式必须一致（yyyy-MM-dd HH:mm:ss，本地时间）
+UPDATE user SET created_at = datetime(created_at / 1000, 'unixepoch', 'localtime')
+WHERE typeof(created_at) = 'integer';
+UPDATE user SET updated_at = datetime(updated_at / 1000, 'unixepoch', 'localtime')
+WHERE typeof(updated_at) = 'integer';
+UPDATE user SET created_at = substr(replace(created_at, 'T', ' '), 1, 19)
+WHERE typeof(created_at) = 'text' AND (length(created_at) > 19 OR instr(created_at, 'T') > 0);
+UPDATE user SET updated_at = substr(replace(updated_at, 'T', ' '), 1, 19)
+WHERE typeof(updated_at) = 'text' AND (length(updated_at) > 19 OR instr(updated_at, 'T') > 0);
+
+-- 列表过滤和排序的索引，首列对应一个过滤/排序字段，其后是主键，按“字段, id”排序时无需额外排序
+-- 附带name、email，列表只取id,name,email时（fields参数）可以只读索引，不回表
+CREATE INDEX IF NOT EXISTS idx_user_name ON user(name, id, email);
+CREATE INDEX IF NOT EXISTS idx_user_age ON user(age, id, name, email);
+CREATE INDEX IF NOT EXISTS idx_user_created_at ON user(created_at, id, name, email);
+CREATE INDEX IF NOT EXISTS idx_user_updated_at ON user(updated_at, id, name, email);
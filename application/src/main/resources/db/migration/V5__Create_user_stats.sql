@@ -0,0 +1,16 @@
+-- 用户总数计数表，只有一行，由触发器随user表的插入和删除同步维护
+-- 不带条件的分页查询直接读取总数，不再执行COUNT(*)扫描整个表或索引
+CREATE TABLE IF NOT EXISTS user_stats (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    row_count INTEGER NOT NULL
+);
+
+INSERT OR REPLACE INTO user_stats (id, row_count) VALUES (1, (SELECT COUNT(*) FROM user));
+
+CREATE TRIGGER IF NOT EXISTS user_stats_after_insert AFTER INSERT ON user BEGIN
+    UPDATE user_stats SET row_count = row_count + 1 WHERE id = 1;
+END;
+
+CREATE TRIGGER IF NOT EXISTS user_stats_after_delete AFTER DELETE ON user BEGIN
+    UPDATE user_stats SET row_count = row_count - 1 WHERE id = 1;
+END;
@@ -0,0 +1,13 @@
+-- V4之后新写入的时间经过MyBatis默认的LocalDateTime处理器，存成了ISO格式（带'T'，秒为0时不带秒，可能带小数秒）
+-- 与V4统一后的yyyy-MM-dd HH:mm:ss按文本比较会出错，这里再统一一次；之后的写入由LocalDateTimeTypeHandler保证格式
+-- V4截取前19个字符时没有处理不带秒的值（yyyy-MM-dd HH:mm），这里一并补齐
+UPDATE user SET created_at = CASE
+        WHEN length(created_at) = 16 THEN replace(created_at, 'T', ' ') || ':00'
+        ELSE substr(replace(created_at, 'T', ' '), 1, 19)
+    END
+WHERE typeof(created_at) = 'text' AND (length(created_at) = 16 OR length(created_at) > 19 OR instr(created_at, 'T') > 0);
+UPDATE user SET updated_at = CASE
+        WHEN length(updated_at) = 16 THEN replace(updated_at, 'T', ' ') || ':00'
+        ELSE substr(replace(updated_at, 'T', ' '), 1, 19)
+    END
+WHERE typeof(updated_at) = 'text' AND (length(updated_at) = 16 OR length(updated_at) > 19 OR instr(updated_at, 'T') > 0);
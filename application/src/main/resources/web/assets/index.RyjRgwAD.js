@@ -1 +0,0 @@
-(()=>{var i=Object.create,_=Object.defineProperty,n=Object.getOwnPropertyDescriptor,c=Object.getOwnPropertyNames,l=Object.getPrototypeOf,v=Object.prototype.hasOwnProperty,O=(e,r,t,o)=>{if(r&&typeof r=="object"||typeof r=="function")for(let a of c(r))!v.call(e,a)&&a!==t&&_(e,a,{get:()=>r[a],enumerable:!(o=n(r,a))||o.enumerable});return e},u=(e,r,t)=>(t=e!=null?i(l(e)):{},O(!e||!e.__esModule?_(t,"default",{value:e,enumerable:!0}):t,e));require("./assets/main.css");var s=require("vue"),P=require("pinia"),b=u(require("element-plus"));require("element-plus/dist/index.css");var f=u(require("./App.vue")),y=u(require("./router"));const p=(0,s.createApp)(f.default);p.use((0,P.createPinia)()),p.use(y.default),p.use(b.default),p.mount("#app")})();
@@ -0,0 +1,36 @@
+package top.jiuxialb.javafx.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 资源在创建时全部就绪，只有打包的资源可以读取
+ */
+class AssetCacheTest {
+
+    private final AssetCache assetCache = new AssetCache();
+
+    @Test
+    void servesBundledAssetsWithPreparedEncodings() {
+        AssetCache.Asset index = assetCache.get("index.html");
+        assertThat(index).isNotNull();
+        assertThat(index.getMediaType().toString()).isEqualTo("text/html");
+
+        AssetCache.Asset script = assetCache.get("assets/index.js");
+        assertThat(script).isNotNull();
+        assertThat(script.isImmutable()).isFalse();
+        AssetCache.Variant gzip = script.select("gzip, deflate");
+        assertThat(gzip.getEncoding()).isEqualTo("gzip");
+        assertThat(gzip.getContent().length).isLessThan(script.getIdentity().getContent().length);
+        assertThat(script.select(null).getEncoding()).isNull();
+    }
+
+    @Test
+    void unknownPathsAreNotFound() {
+        assertThat(assetCache.get("assets/missing.12345678.js")).isNull();
+        assertThat(assetCache.get("../application.yml")).isNull();
+        assertThat(assetCache.get("")).isNull();
+        assertThat(assetCache.get(null)).isNull();
+    }
+}
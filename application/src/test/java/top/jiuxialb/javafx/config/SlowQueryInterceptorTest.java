@@ -0,0 +1,68 @@
+package top.jiuxialb.javafx.config;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import top.jiuxialb.javafx.common.SlowStatement;
+import top.jiuxialb.javafx.entity.User;
+import top.jiuxialb.javafx.mapper.TestSqlSessions;
+import top.jiuxialb.javafx.mapper.UserMapper;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 启用慢SQL记录时，经过分页插件的真实查询应照常执行，并记录改写后的语句和执行计划
+ */
+class SlowQueryInterceptorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordsRealStatementsBehindThePaginationPlugin() {
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setThresholdMs(0);
+        properties.setExplainIntervalSeconds(0);
+        SlowQueryInterceptor slowQueryInterceptor = new SlowQueryInterceptor(properties);
+        MybatisPlusInterceptor mybatisPlusInterceptor = new MybatisPlusInterceptor();
+        mybatisPlusInterceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.SQLITE));
+        // 与MyBatisPlusConfig中的顺序一致，慢SQL记录在内层
+        SqlSessionFactory factory = TestSqlSessions.create(tempDir.resolve("slow.db"),
+                slowQueryInterceptor, mybatisPlusInterceptor);
+
+        long id;
+        try (SqlSession session = factory.openSession(true)) {
+            UserMapper mapper = session.getMapper(UserMapper.class);
+            User user = new User();
+            user.setName("张三");
+            user.setEmail("slow-query@example.com");
+            user.setAge(30);
+            mapper.insert(user);
+            id = user.getId();
+
+            assertThat(mapper.selectById(user.getId()).getEmail()).isEqualTo("slow-query@example.com");
+            Page<User> page = mapper.selectPage(new Page<>(1, 10), null);
+            assertThat(page.getRecords()).isNotEmpty();
+            assertThat(page.getTotal()).isEqualTo(mapper.selectCount(null));
+        }
+
+        Map<String, SlowStatement> statements = slowQueryInterceptor.top(10).stream()
+                .collect(Collectors.toMap(SlowStatement::getStatement, Function.identity()));
+        assertThat(statements).containsKeys("UserMapper.insert", "UserMapper.selectById",
+                "UserMapper.selectPage", "UserMapper.selectPage_mpCount");
+        assertThat(statements.get("UserMapper.selectById").getSlowestParameters()).isEqualTo("[" + id + "]");
+        assertThat(statements.get("UserMapper.selectById").getPlan()).contains("SEARCH user USING INTEGER PRIMARY KEY");
+        assertThat(statements.get("UserMapper.selectPage").getSlowestSql()).contains("LIMIT");
+        assertThat(statements.get("UserMapper.insert").getCount()).isEqualTo(1);
+    }
+}
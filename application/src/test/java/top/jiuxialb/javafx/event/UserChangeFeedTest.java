@@ -0,0 +1,92 @@
+package top.jiuxialb.javafx.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 推送慢的订阅者不影响其他订阅者，积压超过上限时改为收到重置通知
+ */
+class UserChangeFeedTest {
+
+    private UserChangeFeed feed;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        feed = new UserChangeFeed();
+        ReflectionTestUtils.setField(feed, "capacity", 128);
+        ReflectionTestUtils.setField(feed, "maxEventsPerTransaction", 200);
+        ReflectionTestUtils.setField(feed, "heartbeatSeconds", 3600L);
+        ReflectionTestUtils.setField(feed, "subscriberQueueSize", 2);
+        feed.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        feed.stop();
+    }
+
+    @Test
+    void slowSubscriberDoesNotDelayOthers() throws InterruptedException {
+        RecordingListener slow = new RecordingListener(release);
+        RecordingListener fast = new RecordingListener(null);
+        feed.subscribe(null, slow);
+        feed.subscribe(null, fast);
+
+        feed.deleted(List.of(1L));
+        // 慢订阅者卡在第一批上
+        assertThat(slow.received.poll(5, TimeUnit.SECONDS)).isEqualTo("DELETED:1");
+        assertThat(fast.received.poll(5, TimeUnit.SECONDS)).isEqualTo("DELETED:1");
+
+        // 快订阅者仍按顺序收到后续全部事件
+        for (long id = 2; id <= 10; id++) {
+            feed.deleted(List.of(id));
+            assertThat(fast.received.poll(5, TimeUnit.SECONDS)).isEqualTo("DELETED:" + id);
+        }
+
+        // 慢订阅者积压超过上限，积压的事件被丢弃，放行后收到重置通知，之后的事件照常推送
+        release.countDown();
+        assertThat(slow.received.poll(5, TimeUnit.SECONDS)).startsWith("RESET:");
+        feed.deleted(List.of(11L));
+        assertThat(slow.received.poll(5, TimeUnit.SECONDS)).isEqualTo("DELETED:11");
+        assertThat(fast.received.poll(5, TimeUnit.SECONDS)).isEqualTo("DELETED:11");
+    }
+
+    private static final class RecordingListener implements UserChangeFeed.Listener {
+
+        private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch gate;
+
+        private RecordingListener(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void onEvents(List<UserChangeEvent> events) throws InterruptedException {
+            for (UserChangeEvent event : events) {
+                received.add(event.getType() + ":" + event.getId());
+            }
+            if (gate != null) {
+                gate.await();
+            }
+        }
+
+        @Override
+        public void onReset(long sequence) {
+            received.add("RESET:" + sequence);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package top.jiuxialb.javafx.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.flywaydb.core.Flyway;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+import top.jiuxialb.javafx.config.LocalDateTimeTypeHandler;
+import top.jiuxialb.javafx.config.MyMetaObjectHandler;
+
+import java.nio.file.Path;
+
+/**
+ * 按迁移脚本建库，并按application.yml中的MyBatis-Plus配置创建SqlSessionFactory，不启动Spring容器
+ */
+public final class TestSqlSessions {
+
+    private TestSqlSessions() {
+    }
+
+    /**
+     * @param interceptors 按注册顺序排列，先注册的插件在内层
+     */
+    public static SqlSessionFactory create(Path database, Interceptor... interceptors) {
+        String url = "jdbc:sqlite:" + database;
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/migration").load().migrate();
+
+        SQLiteConfig sqliteConfig = new SQLiteConfig();
+        sqliteConfig.setDateClass("TEXT");
+        sqliteConfig.setDateStringFormat("yyyy-MM-dd HH:mm:ss");
+        SQLiteDataSource dataSource = new SQLiteDataSource(sqliteConfig);
+        dataSource.setUrl(url);
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.setCacheEnabled(false);
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.getTypeHandlerRegistry().register(LocalDateTimeTypeHandler.class);
+        GlobalConfig globalConfig = GlobalConfigUtils.defaults();
+        globalConfig.setMetaObjectHandler(new MyMetaObjectHandler());
+        GlobalConfigUtils.setGlobalConfig(configuration, globalConfig);
+        for (Interceptor interceptor : interceptors) {
+            configuration.addInterceptor(interceptor);
+        }
+        configuration.addMapper(UserMapper.class);
+        return new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+}
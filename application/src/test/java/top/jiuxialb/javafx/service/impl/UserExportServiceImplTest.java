@@ -0,0 +1,97 @@
+package top.jiuxialb.javafx.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import top.jiuxialb.javafx.common.DataFormat;
+import top.jiuxialb.javafx.config.UserJsonModule;
+import top.jiuxialb.javafx.entity.User;
+import top.jiuxialb.javafx.mapper.TestSqlSessions;
+import top.jiuxialb.javafx.mapper.UserMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 导出结果逐字节检查：NDJSON每行一个对象，行首没有分隔符；CSV的时间格式与JSON一致
+ */
+class UserExportServiceImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SqlSession session;
+
+    private UserExportServiceImpl exportService;
+
+    private Long firstId;
+
+    private Long secondId;
+
+    @BeforeEach
+    void setUp() {
+        session = TestSqlSessions.create(tempDir.resolve("export.db")).openSession(true);
+        UserMapper mapper = session.getMapper(UserMapper.class);
+        mapper.delete(null);
+        firstId = insert(mapper, "张三", "zhangsan@example.com", LocalDateTime.of(2026, 10, 18, 23, 0));
+        secondId = insert(mapper, "Li, \"Si\"", "lisi@example.com", LocalDateTime.of(2026, 10, 19, 8, 30, 15));
+
+        // 与Spring Boot自动配置的ObjectMapper一致
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new UserJsonModule())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        exportService = new UserExportServiceImpl();
+        ReflectionTestUtils.setField(exportService, "userMapper", mapper);
+        ReflectionTestUtils.setField(exportService, "objectMapper", objectMapper);
+        exportService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.close();
+    }
+
+    @Test
+    void exportsNdjsonLinesWithoutSeparators() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(exportService.export(DataFormat.NDJSON, out)).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":" + firstId + ",\"name\":\"张三\",\"email\":\"zhangsan@example.com\",\"age\":30,"
+                        + "\"createdAt\":\"2026-10-18T23:00:00\",\"updatedAt\":\"2026-10-18T23:00:00\"}\n"
+                        + "{\"id\":" + secondId + ",\"name\":\"Li, \\\"Si\\\"\",\"email\":\"lisi@example.com\",\"age\":30,"
+                        + "\"createdAt\":\"2026-10-19T08:30:15\",\"updatedAt\":\"2026-10-19T08:30:15\"}\n");
+    }
+
+    @Test
+    void exportsCsvTimestampsInTheJsonFormat() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(exportService.export(DataFormat.CSV, out)).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,email,age,createdAt,updatedAt\n"
+                        + firstId + ",张三,zhangsan@example.com,30,2026-10-18T23:00:00,2026-10-18T23:00:00\n"
+                        + secondId + ",\"Li, \"\"Si\"\"\",lisi@example.com,30,2026-10-19T08:30:15,2026-10-19T08:30:15\n");
+    }
+
+    private static Long insert(UserMapper mapper, String name, String email, LocalDateTime time) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setAge(30);
+        user.setCreatedAt(time);
+        user.setUpdatedAt(time);
+        mapper.insert(user);
+        return user.getId();
+    }
+}
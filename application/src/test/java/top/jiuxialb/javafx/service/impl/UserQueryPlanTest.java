@@ -0,0 +1,159 @@
+package top.jiuxialb.javafx.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import top.jiuxialb.javafx.common.UserField;
+import top.jiuxialb.javafx.common.UserQuery;
+import top.jiuxialb.javafx.entity.User;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 用户列表的每种过滤/排序组合都应该走索引，而不是全表扫描
+ * 在按迁移脚本建好的库上对UserServiceImpl生成的查询执行EXPLAIN QUERY PLAN
+ */
+class UserQueryPlanTest {
+
+    private static final Pattern PARAMETER = Pattern.compile("#\\{ew\\.paramNameValuePairs\\.(\\w+)}");
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("plan.db");
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/migration").load().migrate();
+        connection = DriverManager.getConnection(url);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void everyFilterAndSortCombinationUsesAnIndex() throws SQLException {
+        Map<String, Consumer<UserQuery>> filters = new LinkedHashMap<>();
+        filters.put("none", query -> { });
+        filters.put("name", query -> query.setName("张"));
+        filters.put("ageMin", query -> query.setAgeMin(18));
+        filters.put("ageMax", query -> query.setAgeMax(60));
+        filters.put("ageRange", query -> {
+            query.setAgeMin(18);
+            query.setAgeMax(60);
+        });
+        filters.put("createdFrom", query -> query.setCreatedFrom(FROM));
+        filters.put("createdTo", query -> query.setCreatedTo(TO));
+        filters.put("createdWindow", query -> {
+            query.setCreatedFrom(FROM);
+            query.setCreatedTo(TO);
+        });
+        filters.put("updatedFrom", query -> query.setUpdatedFrom(FROM));
+        filters.put("updatedTo", query -> query.setUpdatedTo(TO));
+        filters.put("updatedWindow", query -> {
+            query.setUpdatedFrom(FROM);
+            query.setUpdatedTo(TO);
+        });
+        filters.put("nameAndAge", query -> {
+            query.setName("张");
+            query.setAgeMin(18);
+        });
+        filters.put("createdAndUpdated", query -> {
+            query.setCreatedFrom(FROM);
+            query.setUpdatedTo(TO);
+        });
+
+        List<Set<UserField>> projections = new ArrayList<>();
+        projections.add(null);
+        projections.add(EnumSet.of(UserField.ID, UserField.NAME, UserField.EMAIL));
+
+        List<String> failures = new ArrayList<>();
+        int checked = 0;
+        for (Map.Entry<String, Consumer<UserQuery>> filter : filters.entrySet()) {
+            for (UserField sortField : UserField.values()) {
+                for (String direction : new String[]{"asc", "desc"}) {
+                    for (Set<UserField> fields : projections) {
+                        UserQuery query = new UserQuery();
+                        filter.getValue().accept(query);
+                        query.setSort(sortField.getProperty() + "," + direction);
+                        QueryWrapper<User> wrapper = UserServiceImpl.queryWrapper(query, fields);
+
+                        List<String> plan = explain(wrapper);
+                        checked++;
+                        // 不带条件按主键排序时顺序读取表本身，加上LIMIT即可提前结束，不算全表扫描
+                        if ("none".equals(filter.getKey()) && sortField == UserField.ID) {
+                            continue;
+                        }
+                        if (plan.stream().anyMatch(detail -> detail.equals("SCAN user"))) {
+                            failures.add(filter.getKey() + " / " + query.getSort() + " / " + fields + ": " + plan);
+                        }
+                    }
+                }
+            }
+        }
+
+        assertThat(checked).isEqualTo(filters.size() * UserField.values().length * 2 * projections.size());
+        assertThat(failures).as("全表扫描的查询").isEmpty();
+    }
+
+    /**
+     * 按分页查询的形式（LIMIT/OFFSET）输出查询计划
+     */
+    private List<String> explain(QueryWrapper<User> wrapper) throws SQLException {
+        String select = wrapper.getSqlSelect() != null ? wrapper.getSqlSelect() : "*";
+        String sql = "SELECT " + select + " FROM user " + wrapper.getCustomSqlSegment() + " LIMIT 10 OFFSET 0";
+
+        List<Object> values = new ArrayList<>();
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder jdbcSql = new StringBuilder();
+        while (matcher.find()) {
+            Object value = wrapper.getParamNameValuePairs().get(matcher.group(1));
+            values.add(value instanceof LocalDateTime ? DATE_TIME.format((LocalDateTime) value) : value);
+            matcher.appendReplacement(jdbcSql, "?");
+        }
+        matcher.appendTail(jdbcSql);
+
+        List<String> plan = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + jdbcSql)) {
+            for (int i = 0; i < values.size(); i++) {
+                statement.setObject(i + 1, values.get(i));
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    plan.add(rs.getString("detail"));
+                }
+            }
+        }
+        return plan;
+    }
+}
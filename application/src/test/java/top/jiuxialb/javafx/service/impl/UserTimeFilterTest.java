@@ -0,0 +1,103 @@
+package top.jiuxialb.javafx.service.impl;
+
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import top.jiuxialb.javafx.common.UserQuery;
+import top.jiuxialb.javafx.entity.User;
+import top.jiuxialb.javafx.mapper.TestSqlSessions;
+import top.jiuxialb.javafx.mapper.UserMapper;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 经Mapper写入的时间与过滤参数使用同一种文本格式，按时间窗口过滤时比较结果正确
+ */
+class UserTimeFilterTest {
+
+    private static final LocalDateTime LATE_EVENING = LocalDateTime.of(2026, 10, 18, 23, 0);
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private SqlSession session;
+
+    private UserMapper mapper;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        session = TestSqlSessions.create(tempDir.resolve("time.db")).openSession(true);
+        mapper = session.getMapper(UserMapper.class);
+        User user = new User();
+        user.setName("时间过滤");
+        user.setEmail("time-filter@example.com");
+        user.setAge(30);
+        user.setCreatedAt(LATE_EVENING);
+        user.setUpdatedAt(LATE_EVENING);
+        mapper.insert(user);
+        id = user.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.close();
+    }
+
+    @Test
+    void storesTimestampsInTheCanonicalTextFormat() throws SQLException {
+        assertThat(storedText("created_at")).isEqualTo("2026-10-18 23:00:00");
+        assertThat(storedText("updated_at")).isEqualTo("2026-10-18 23:00:00");
+
+        User update = new User();
+        update.setId(id);
+        update.setUpdatedAt(LocalDateTime.of(2026, 10, 19, 8, 30, 15, 123_000_000));
+        mapper.updateById(update);
+        assertThat(storedText("updated_at")).isEqualTo("2026-10-19 08:30:15");
+        assertThat(mapper.selectById(id).getCreatedAt()).isEqualTo(LATE_EVENING);
+    }
+
+    @Test
+    void filtersByTimeWindow() {
+        assertThat(matches(query -> query.setCreatedFrom(NOON))).isTrue();
+        assertThat(matches(query -> query.setCreatedTo(NOON))).isFalse();
+        assertThat(matches(query -> query.setCreatedFrom(LATE_EVENING))).isTrue();
+        assertThat(matches(query -> query.setCreatedTo(LATE_EVENING))).isFalse();
+        assertThat(matches(query -> {
+            query.setUpdatedFrom(NOON);
+            query.setUpdatedTo(LATE_EVENING.plusSeconds(1));
+        })).isTrue();
+        assertThat(matches(query -> query.setUpdatedFrom(LATE_EVENING.plusSeconds(1)))).isFalse();
+    }
+
+    private boolean matches(Consumer<UserQuery> filter) {
+        UserQuery query = new UserQuery();
+        filter.accept(query);
+        List<User> users = mapper.selectList(UserServiceImpl.queryWrapper(query, null));
+        return users.stream().anyMatch(user -> user.getId().equals(id));
+    }
+
+    private String storedText(String column) throws SQLException {
+        try (PreparedStatement statement = session.getConnection()
+                .prepareStatement("SELECT " + column + " FROM user WHERE id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package top.jiuxialb.javafx.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import top.jiuxialb.javafx.SpringBootJavaFXApplication;
+import top.jiuxialb.javafx.entity.User;
+import top.jiuxialb.javafx.mapper.UserMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 基准测试使用的Spring上下文
+ * 与应用使用相同的配置（连接池、PRAGMA、MyBatis-Plus插件、Flyway迁移），数据库为临时目录中的SQLite文件，不启动Web服务器。
+ */
+public final class BenchmarkContext implements AutoCloseable {
+
+    /**
+     * 每次写入的行数，与app.user.batch-chunk-size默认值一致
+     */
+    private static final int SEED_CHUNK_SIZE = 500;
+
+    private final Path directory;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkContext(Path directory, ConfigurableApplicationContext context) {
+        this.directory = directory;
+        this.context = context;
+    }
+
+    /**
+     * 在临时目录中创建数据库并启动上下文
+     */
+    public static BenchmarkContext start() {
+        try {
+            Path directory = Files.createTempDirectory("javafx-demo-bench");
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootJavaFXApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .logStartupInfo(false)
+                    .run("--spring.datasource.url=jdbc:sqlite:" + directory.resolve("bench.db"),
+                            "--spring.main.banner-mode=off");
+            return new BenchmarkContext(directory, context);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * 批量写入测试用户
+     * @return 写入后的用户数
+     */
+    public long seed(int count) {
+        UserMapper userMapper = getBean(UserMapper.class);
+        LocalDateTime now = LocalDateTime.now();
+        List<User> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+        for (int i = 0; i < count; i++) {
+            chunk.add(newUser("seed-" + i, now));
+            if (chunk.size() == SEED_CHUNK_SIZE || i == count - 1) {
+                userMapper.insertBatch(chunk);
+                chunk.clear();
+            }
+        }
+        return userMapper.selectCount(null);
+    }
+
+    /**
+     * 构造测试用户，邮箱由key决定，需保证唯一
+     */
+    public static User newUser(String key, LocalDateTime time) {
+        User user = new User();
+        user.setName("用户" + key);
+        user.setEmail(key + "@bench.local");
+        user.setAge(18 + Math.floorMod(key.hashCode(), 50));
+        user.setCreatedAt(time);
+        user.setUpdatedAt(time);
+        return user;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
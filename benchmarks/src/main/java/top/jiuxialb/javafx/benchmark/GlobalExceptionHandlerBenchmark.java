@@ -0,0 +1,92 @@
+package top.jiuxialb.javafx.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import top.jiuxialb.javafx.common.Result;
+import top.jiuxialb.javafx.controller.UserController;
+import top.jiuxialb.javafx.entity.User;
+import top.jiuxialb.javafx.exception.BusinessException;
+import top.jiuxialb.javafx.exception.UserNotFoundException;
+import top.jiuxialb.javafx.handler.GlobalExceptionHandler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GlobalExceptionHandler的错误路径
+ * 每次调用都新建异常，包含创建异常、处理器计数和日志写入的完整开销；业务异常不填充堆栈，
+ * 非预期异常的堆栈按指纹限流输出，稳定状态下测到的是被限流的路径。
+ * 处理器取自应用上下文，错误计数与线上一致写入指标注册表；
+ * 日志由benchmarks模块的logback.xml异步写入target/benchmark.log
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private BenchmarkContext context;
+    private GlobalExceptionHandler handler;
+    private MethodParameter createUserParameter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        context = BenchmarkContext.start();
+        handler = context.getBean(GlobalExceptionHandler.class);
+        createUserParameter = new MethodParameter(UserController.class.getMethod("createUser", User.class), 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Result<Object> userNotFound() {
+        return handler.handleUserNotFoundException(new UserNotFoundException(42L));
+    }
+
+    @Benchmark
+    public Result<Object> businessException() {
+        return handler.handleBusinessException(new BusinessException(404, "导入任务不存在"));
+    }
+
+    @Benchmark
+    public Result<Object> methodArgumentNotValid() {
+        return handler.handleMethodArgumentNotValidException(
+                new MethodArgumentNotValidException(createUserParameter, invalidUser()));
+    }
+
+    @Benchmark
+    public Result<Object> bindException() {
+        return handler.handleBindException(new BindException(invalidUser()));
+    }
+
+    @Benchmark
+    public Result<Object> unexpectedException() {
+        return handler.handleException(new IllegalStateException("unexpected"));
+    }
+
+    private static BeanPropertyBindingResult invalidUser() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new User(), "user");
+        bindingResult.addError(new FieldError("user", "name", "用户名不能为空"));
+        bindingResult.addError(new FieldError("user", "email", "邮箱格式不正确"));
+        return bindingResult;
+    }
+}
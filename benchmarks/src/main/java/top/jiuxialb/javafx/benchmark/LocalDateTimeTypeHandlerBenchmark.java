@@ -0,0 +1,86 @@
+package top.jiuxialb.javafx.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import top.jiuxialb.javafx.config.LocalDateTimeTypeHandler;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LocalDateTimeTypeHandler读取时间字段时对各类输入的解析开销
+ * 通过公开的getNullableResult(ResultSet, int)调用，ResultSet是只返回固定值的桩；
+ * getObject只测量桩本身的调用开销，两者之差即解析开销
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalDateTimeTypeHandlerBenchmark {
+
+    /**
+     * 输入类型：
+     * text为当前的存储格式，textMillis带毫秒，iso需要回退到ISO解析，invalid解析失败，
+     * epochMillis为早期版本的整数时间戳
+     */
+    @Param({"timestamp", "text", "textMillis", "iso", "invalid", "date", "epochMillis"})
+    private String input;
+
+    private final LocalDateTimeTypeHandler handler = new LocalDateTimeTypeHandler();
+    private ResultSet resultSet;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 20, 13, 14, 15, 123_000_000);
+        Object value = switch (input) {
+            case "timestamp" -> Timestamp.valueOf(time);
+            case "text" -> "2024-05-20 13:14:15";
+            case "textMillis" -> "2024-05-20 13:14:15.123";
+            case "iso" -> "2024-05-20T13:14:15";
+            case "invalid" -> "not a timestamp";
+            case "date" -> Date.valueOf(time.toLocalDate());
+            case "epochMillis" -> Timestamp.valueOf(time).getTime();
+            default -> throw new IllegalArgumentException(input);
+        };
+        resultSet = stubResultSet(value);
+    }
+
+    @Benchmark
+    public LocalDateTime parseTimestamp() throws SQLException {
+        return handler.getNullableResult(resultSet, 1);
+    }
+
+    @Benchmark
+    public Object getObject() throws SQLException {
+        return resultSet.getObject(1);
+    }
+
+    /**
+     * 只支持getObject的ResultSet，其余方法抛出UnsupportedOperationException
+     */
+    private static ResultSet stubResultSet(Object value) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getObject") && args != null && args.length == 1) {
+                        return value;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,94 @@
+package top.jiuxialb.javafx.benchmark;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import top.jiuxialb.javafx.common.CursorPage;
+import top.jiuxialb.javafx.common.UserQuery;
+import top.jiuxialb.javafx.entity.User;
+import top.jiuxialb.javafx.mapper.UserMapper;
+import top.jiuxialb.javafx.service.UserService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分页读取
+ * offset分页经过PaginationInnerInterceptor（COUNT查询 + LIMIT/OFFSET），与游标分页对比深分页的开销；
+ * servicePage为UserService的分页查询，总数取自触发器维护的计数表，不执行COUNT
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginationBenchmark {
+
+    private static final int ROWS = 50_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * 页码，1为首页，2000为最后一页附近
+     */
+    @Param({"1", "100", "2000"})
+    private int page;
+
+    /**
+     * 是否执行COUNT查询
+     */
+    @Param({"true", "false"})
+    private boolean searchCount;
+
+    private BenchmarkContext context;
+    private UserMapper userMapper;
+    private UserService userService;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        userMapper = context.getBean(UserMapper.class);
+        userService = context.getBean(UserService.class);
+        context.seed(ROWS);
+
+        // 翻到同一页的游标
+        cursor = "";
+        for (int i = 1; i < page; i++) {
+            cursor = userService.pageByCursor(cursor, PAGE_SIZE, false).getNextCursor();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<User> offsetPage() {
+        Page<User> request = new Page<>(page, PAGE_SIZE, searchCount);
+        return userMapper.selectPage(request, new LambdaQueryWrapper<User>().orderByAsc(User::getId));
+    }
+
+    @Benchmark
+    public Page<User> servicePage() {
+        return userService.pageUsers(page, PAGE_SIZE, new UserQuery(), searchCount, null);
+    }
+
+    @Benchmark
+    public CursorPage<User> cursorPage() {
+        return userService.pageByCursor(cursor, PAGE_SIZE, searchCount);
+    }
+}
@@ -0,0 +1,90 @@
+package top.jiuxialb.javafx.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 比较两次JMH运行的JSON结果，用于发布前发现性能回退
+ * 用法：java -cp ... top.jiuxialb.javafx.benchmark.ResultComparator baseline.json current.json [阈值百分比，默认10]
+ * 任一基准测试变慢超过阈值（且超出两次结果的误差范围）时以状态码1退出。
+ */
+public class ResultComparator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("用法: ResultComparator <baseline.json> <current.json> [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %12s -> %12.3f %s (新增)%n", entry.getKey(), "-", after.value, after.unit);
+                continue;
+            }
+            // 吞吐量越大越好，其余模式（平均时间、采样时间等）越小越好
+            double change = (after.value - before.value) / before.value * 100;
+            double slowdown = after.higherIsBetter() ? -change : change;
+            boolean outsideError = Math.abs(after.value - before.value) > before.error + after.error;
+            boolean regressed = slowdown > threshold && outsideError;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %12.3f -> %12.3f %s (%+.1f%%)%s%n", entry.getKey(), before.value, after.value,
+                    after.unit, change, regressed ? " 回退" : "");
+        }
+        for (String name : baseline.keySet()) {
+            if (!current.containsKey(name)) {
+                System.out.printf("%-90s (本次未运行)%n", name);
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d项基准测试变慢超过%.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder name = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            if (params.isObject()) {
+                name.append(' ').append(params);
+            }
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(name.toString(), new Score(metric.path("score").asDouble(), Double.isNaN(error) ? 0 : error,
+                    metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private static final class Score {
+        private final double value;
+        private final double error;
+        private final String unit;
+
+        private Score(double value, double error, String unit) {
+            this.value = value;
+            this.error = error;
+            this.unit = unit;
+        }
+
+        private boolean higherIsBetter() {
+            return unit.startsWith("ops/");
+        }
+    }
+}
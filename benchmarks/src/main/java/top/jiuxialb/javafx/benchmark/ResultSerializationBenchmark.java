@@ -0,0 +1,87 @@
+package top.jiuxialb.javafx.benchmark;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import top.jiuxialb.javafx.common.Result;
+import top.jiuxialb.javafx.config.UserJsonModule;
+import top.jiuxialb.javafx.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result<T>的JSON序列化
+ * ObjectMapper与Spring Boot默认配置一致（Jackson2ObjectMapperBuilder），覆盖单个用户、分页和全量列表三种响应；
+ * serializers=bean为Jackson默认的Bean序列化，module为应用注册的UserJsonModule
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultSerializationBenchmark {
+
+    @Param({"bean", "module"})
+    private String serializers;
+
+    private ObjectMapper objectMapper;
+    private Result<User> single;
+    private Result<Page<User>> page;
+    private Result<List<User>> list;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("module".equals(serializers)) {
+            builder.modulesToInstall(new UserJsonModule());
+        }
+        objectMapper = builder.build();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<User> users = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            User user = BenchmarkContext.newUser("user-" + i, now);
+            user.setId((long) i + 1);
+            users.add(user);
+        }
+        single = Result.success(users.get(0));
+
+        Page<User> pageData = new Page<>(1, 20, users.size());
+        pageData.setRecords(users.subList(0, 20));
+        page = Result.success(pageData);
+
+        list = Result.success(users);
+    }
+
+    @Benchmark
+    public byte[] singleUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] page() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public byte[] allUsers() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(list);
+    }
+}
@@ -0,0 +1,93 @@
+package top.jiuxialb.javafx.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import top.jiuxialb.javafx.entity.User;
+import top.jiuxialb.javafx.mapper.UserMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UserMapper增删改查
+ * 写操作经过应用的写连接（synchronous=NORMAL的WAL模式），读操作经过只读连接池
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private BenchmarkContext context;
+    private UserMapper userMapper;
+    private long minId;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        userMapper = context.getBean(UserMapper.class);
+        context.seed(ROWS);
+        List<Object> ids = userMapper.selectObjs(null);
+        minId = ((Number) ids.get(0)).longValue();
+        maxId = ((Number) ids.get(ids.size() - 1)).longValue();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User selectById() {
+        return userMapper.selectById(randomId());
+    }
+
+    @Benchmark
+    public List<User> selectIdsByEmails() {
+        long id = randomId();
+        return userMapper.selectIdsByEmails(List.of("seed-" + (id - minId) + "@bench.local"));
+    }
+
+    @Benchmark
+    public int updateById() {
+        User user = new User();
+        user.setId(randomId());
+        user.setAge(ThreadLocalRandom.current().nextInt(18, 68));
+        user.setUpdatedAt(LocalDateTime.now());
+        return userMapper.updateById(user);
+    }
+
+    /**
+     * 插入后立即删除，保持表大小不变
+     */
+    @Benchmark
+    public int insertAndDelete() {
+        User user = BenchmarkContext.newUser("insert-" + sequence.incrementAndGet(), LocalDateTime.now());
+        userMapper.insert(user);
+        return userMapper.deleteById(user.getId());
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+    }
+}
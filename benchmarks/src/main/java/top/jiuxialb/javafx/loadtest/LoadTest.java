@@ -0,0 +1,318 @@
+package top.jiuxialb.javafx.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP压测工具，针对以--web-only模式运行的应用
+ * 流程：检查/health -> 写入数据集 -> 预热 -> 正式压测 -> 删除数据集 -> 输出报告。
+ * 延迟以微秒记录在HdrHistogram中，报告包含各接口的吞吐量和p50/p90/p99/p999延迟，
+ * JSON报告可以与上一版本的报告比较（--baseline），同时输出.hgrm格式的延迟分布用于绘图。
+ *
+ * 用法：mvn -f benchmarks/pom.xml compile exec:java@loadtest -Dexec.args="--mode=open --rate=1000"
+ */
+public class LoadTest {
+
+    /**
+     * 可记录的最大延迟（微秒）
+     */
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Workload workload;
+    private final Map<Workload.Operation, OperationStats> stats = new EnumMap<>(Workload.Operation.class);
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private int phase;
+    private Histogram overall;
+
+    public LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.workload = new Workload(options.getUrl(), options.getReadRatio(), objectMapper);
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(LoadTestOptions.parse(args)).run();
+    }
+
+    public void run() throws IOException, InterruptedException {
+        checkHealth();
+        try {
+            if (options.getDataset() > 0) {
+                long seedStarted = System.nanoTime();
+                int seeded = workload.seed(client, options.getDataset(), options.getSeed());
+                System.out.printf("已写入数据集: %d个用户, 用时%dms%n", seeded,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStarted));
+            }
+
+            System.out.printf("预热%ds (%s)...%n", options.getWarmup().toSeconds(), describeMode());
+            runPhase(options.getWarmup());
+            stats.values().forEach(OperationStats::reset);
+            dropped.reset();
+
+            System.out.printf("压测%ds...%n", options.getDuration().toSeconds());
+            Instant startedAt = Instant.now();
+            long started = System.nanoTime();
+            runPhase(options.getDuration());
+            double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+            Map<String, Object> report = buildReport(startedAt, elapsedSeconds);
+            writeReport(report);
+            if (options.getBaseline() != null) {
+                compare(objectMapper.readTree(options.getBaseline().toFile()), objectMapper.valueToTree(report));
+            }
+        } finally {
+            workload.cleanup(client);
+        }
+    }
+
+    private void checkHealth() throws InterruptedException {
+        try {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(options.getUrl() + "/health"))
+                    .timeout(Duration.ofSeconds(5)).build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() == 200) {
+                return;
+            }
+        } catch (IOException e) {
+            // 下面统一提示
+        }
+        throw new IllegalStateException("无法访问" + options.getUrl() + "/health，请先以--web-only模式启动应用");
+    }
+
+    private String describeMode() {
+        return options.getMode() == LoadTestOptions.Mode.CLOSED
+                ? "闭环, 并发" + options.getConcurrency()
+                : "开环, " + options.getRate() + "次/秒";
+    }
+
+    private void runPhase(Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long seed = options.getSeed() * 31 + phase++;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (options.getMode() == LoadTestOptions.Mode.CLOSED) {
+                for (int i = 0; i < options.getConcurrency(); i++) {
+                    Random random = new Random(seed * 1_000_003 + i);
+                    executor.execute(() -> {
+                        while (System.nanoTime() < deadline) {
+                            execute(workload.next(random), System.nanoTime());
+                        }
+                    });
+                }
+            } else {
+                // 按计划时间发出请求，延迟从计划时间算起，服务端变慢时排队时间也计入延迟
+                Random random = new Random(seed);
+                long interval = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+                for (long intended = System.nanoTime(); intended < deadline; intended += interval) {
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    if (inFlight.incrementAndGet() > options.getMaxInFlight()) {
+                        inFlight.decrementAndGet();
+                        dropped.increment();
+                        continue;
+                    }
+                    Workload.Call call = workload.next(random);
+                    long scheduled = intended;
+                    executor.execute(() -> {
+                        try {
+                            execute(call, scheduled);
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private void execute(Workload.Call call, long startNanos) {
+        boolean success;
+        try {
+            HttpResponse<String> response = client.send(call.getRequest(), HttpResponse.BodyHandlers.ofString());
+            // /health直接返回状态，其余接口返回Result，业务失败时HTTP状态同样是200
+            success = response.statusCode() == 200 && (call.getOperation() == Workload.Operation.HEALTH
+                    || response.body().contains("\"code\":200"));
+            if (success) {
+                call.succeeded(response.body());
+            }
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        stats.get(call.getOperation()).record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos), success);
+    }
+
+    private Map<String, Object> buildReport(Instant startedAt, double elapsedSeconds) {
+        overall = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long totalErrors = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Workload.Operation, OperationStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            long errors = entry.getValue().errors.sum();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            overall.add(histogram);
+            totalErrors += errors;
+            operations.put(entry.getKey().name(), summarize(histogram, errors, elapsedSeconds));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("elapsedSeconds", round(elapsedSeconds));
+        report.put("options", options.toMap());
+        report.put("overall", summarize(overall, totalErrors, elapsedSeconds));
+        report.put("dropped", dropped.sum());
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static Map<String, Object> summarize(Histogram histogram, long errors, double elapsedSeconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughput", round(histogram.getTotalCount() / elapsedSeconds));
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", round(histogram.getMean() / 1000));
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+        summary.put("latencyMs", latency);
+        return summary;
+    }
+
+    private void writeReport(Map<String, Object> report) throws IOException {
+        Path path = options.getReport().toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        objectMapper.writeValue(path.toFile(), report);
+
+        // HdrHistogram的百分位分布，单位毫秒
+        Path hgrm = path.resolveSibling(path.getFileName().toString().replaceFirst("\\.json$", "") + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+            overall.outputPercentileDistribution(out, 1000.0);
+        }
+
+        System.out.printf("%n%-10s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "接口", "请求数", "错误", "吞吐/秒", "p50", "p90", "p99", "p999", "max");
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> operations = (Map<String, Map<String, Object>>) report.get("operations");
+        operations.forEach(this::printRow);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> total = (Map<String, Object>) report.get("overall");
+        printRow("TOTAL", total);
+        if (dropped.sum() > 0) {
+            System.out.printf("并发请求超过%d而丢弃: %d%n", options.getMaxInFlight(), dropped.sum());
+        }
+        System.out.printf("报告: %s%n延迟分布: %s%n", path, hgrm);
+    }
+
+    private void printRow(String name, Map<String, Object> summary) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> latency = (Map<String, Object>) summary.get("latencyMs");
+        System.out.printf("%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                summary.get("count"), summary.get("errors"), summary.get("throughput"),
+                latency.get("p50"), latency.get("p90"), latency.get("p99"), latency.get("p999"), latency.get("max"));
+    }
+
+    /**
+     * 与基线报告比较吞吐量和延迟
+     */
+    private void compare(JsonNode baseline, JsonNode current) {
+        if (!baseline.path("options").equals(current.path("options"))) {
+            System.out.println("注意: 基线报告的压测参数与本次不同，比较结果仅供参考");
+        }
+        System.out.printf("%n与基线比较 (%s):%n", options.getBaseline());
+        compareRow("TOTAL", baseline.path("overall"), current.path("overall"));
+        Iterator<Map.Entry<String, JsonNode>> fields = current.path("operations").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            compareRow(field.getKey(), baseline.path("operations").path(field.getKey()), field.getValue());
+        }
+    }
+
+    private static void compareRow(String name, JsonNode before, JsonNode after) {
+        if (before.isMissingNode()) {
+            System.out.printf("%-10s (基线中没有)%n", name);
+            return;
+        }
+        System.out.printf("%-10s 吞吐 %s  p50 %s  p99 %s  p999 %s%n", name,
+                change(before.path("throughput"), after.path("throughput")),
+                change(before.path("latencyMs").path("p50"), after.path("latencyMs").path("p50")),
+                change(before.path("latencyMs").path("p99"), after.path("latencyMs").path("p99")),
+                change(before.path("latencyMs").path("p999"), after.path("latencyMs").path("p999")));
+    }
+
+    private static String change(JsonNode before, JsonNode after) {
+        double from = before.asDouble();
+        double to = after.asDouble();
+        return from == 0 ? String.format("%.2f", to) : String.format("%.2f (%+.1f%%)", to, (to - from) / from * 100);
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    /**
+     * 单个接口的统计，Recorder支持多线程并发记录
+     */
+    private static final class OperationStats {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+
+        private void record(long micros, boolean success) {
+            recorder.recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        private void reset() {
+            recorder.reset();
+            errors.reset();
+        }
+    }
+}
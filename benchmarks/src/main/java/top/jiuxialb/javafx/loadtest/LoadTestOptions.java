@@ -0,0 +1,160 @@
+package top.jiuxialb.javafx.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 压测参数，命令行格式为--name=value
+ */
+public class LoadTestOptions {
+
+    public enum Mode {
+        /**
+         * 闭环：固定数量的并发客户端，每个客户端收到响应后再发下一个请求，测量最大吞吐量
+         */
+        CLOSED,
+        /**
+         * 开环：按固定速率发出请求，不受响应快慢影响，延迟从计划发送时间算起，不会掩盖排队时间
+         */
+        OPEN
+    }
+
+    private String url = "http://localhost:8080";
+    private Mode mode = Mode.CLOSED;
+    private int concurrency = 32;
+    private int rate = 500;
+    private int maxInFlight = 2000;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(30);
+    private double readRatio = 0.9;
+    private int dataset = 10_000;
+    private long seed = 42;
+    private Path report = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+    private Path baseline;
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("参数格式应为--name=value: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "url" -> options.url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "mode" -> options.mode = Mode.valueOf(value.toUpperCase());
+                case "concurrency" -> options.concurrency = positive(name, Integer.parseInt(value));
+                case "rate" -> options.rate = positive(name, Integer.parseInt(value));
+                case "max-in-flight" -> options.maxInFlight = positive(name, Integer.parseInt(value));
+                case "warmup" -> options.warmup = duration(value);
+                case "duration" -> options.duration = duration(value);
+                case "read-ratio" -> {
+                    options.readRatio = Double.parseDouble(value);
+                    if (options.readRatio < 0 || options.readRatio > 1) {
+                        throw new IllegalArgumentException("read-ratio应在0到1之间");
+                    }
+                }
+                case "dataset" -> options.dataset = Integer.parseInt(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "report" -> options.report = Path.of(value);
+                case "baseline" -> options.baseline = Path.of(value);
+                default -> throw new IllegalArgumentException("未知参数: " + name);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * 支持30s、2m、500ms或纯数字（秒）
+     */
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static int positive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + "必须大于0");
+        }
+        return value;
+    }
+
+    /**
+     * 写入报告的参数，比较两份报告前应先确认参数一致
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("url", url);
+        map.put("mode", mode);
+        if (mode == Mode.CLOSED) {
+            map.put("concurrency", concurrency);
+        } else {
+            map.put("rate", rate);
+            map.put("maxInFlight", maxInFlight);
+        }
+        map.put("warmupSeconds", warmup.toMillis() / 1000.0);
+        map.put("durationSeconds", duration.toMillis() / 1000.0);
+        map.put("readRatio", readRatio);
+        map.put("dataset", dataset);
+        map.put("seed", seed);
+        return map;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public double getReadRatio() {
+        return readRatio;
+    }
+
+    public int getDataset() {
+        return dataset;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Path getReport() {
+        return report;
+    }
+
+    public Path getBaseline() {
+        return baseline;
+    }
+}
@@ -0,0 +1,255 @@
+package top.jiuxialb.javafx.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 压测数据集和请求生成
+ * 读写比例由read-ratio决定；读请求中按ID查询40%、分页30%、搜索20%、健康检查10%，
+ * 写请求中更新50%、创建30%、删除20%。数据集由固定种子生成，同一种子每次得到相同的姓名和年龄，
+ * 邮箱带本次运行的标识，重复运行不会冲突。压测结束后删除本次创建的所有用户。
+ */
+public class Workload {
+
+    public enum Operation {
+        GET_BY_ID, PAGE, SEARCH, HEALTH, CREATE, UPDATE, DELETE
+    }
+
+    private static final String[] WORDS = {
+            "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel", "india", "juliet",
+            "kilo", "lima", "mike", "november", "oscar", "papa", "quebec", "romeo", "sierra", "tango"
+    };
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final double readRatio;
+    private final ObjectMapper objectMapper;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong createdCount = new AtomicLong();
+    private final List<Long> ids = new ArrayList<>();
+    private final Map<Long, String> emails = new HashMap<>();
+
+    public Workload(String baseUrl, double readRatio, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.readRatio = readRatio;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 生成并写入数据集
+     * @return 写入成功的用户数
+     */
+    public int seed(HttpClient client, int count, long seed) throws IOException, InterruptedException {
+        Random random = new Random(seed);
+        List<Map<String, Object>> batch = new ArrayList<>(BATCH_SIZE);
+        List<String> batchEmails = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            String email = "load-" + runId + "-" + i + "@loadtest.local";
+            batch.add(user(WORDS[random.nextInt(WORDS.length)] + " user" + i, email, 18 + random.nextInt(50)));
+            batchEmails.add(email);
+            if (batch.size() == BATCH_SIZE || i == count - 1) {
+                JsonNode items = send(client, HttpRequest.newBuilder(uri("/api/users/batch"))
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(batch))))
+                        .path("data").path("items");
+                for (JsonNode item : items) {
+                    if (item.path("success").asBoolean()) {
+                        add(item.path("id").asLong(), batchEmails.get(item.path("index").asInt()));
+                    }
+                }
+                batch.clear();
+                batchEmails.clear();
+            }
+        }
+        return size();
+    }
+
+    /**
+     * 删除压测期间写入的用户
+     */
+    public void cleanup(HttpClient client) throws IOException, InterruptedException {
+        List<Long> remaining;
+        synchronized (this) {
+            remaining = new ArrayList<>(ids);
+        }
+        for (int i = 0; i < remaining.size(); i += BATCH_SIZE) {
+            List<Long> chunk = remaining.subList(i, Math.min(i + BATCH_SIZE, remaining.size()));
+            send(client, HttpRequest.newBuilder(uri("/api/users/batch"))
+                    .method("DELETE", HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(chunk))));
+        }
+    }
+
+    /**
+     * 按比例选择下一个请求
+     */
+    public Call next(Random random) {
+        if (random.nextDouble() < readRatio) {
+            int roll = random.nextInt(100);
+            if (roll < 40) {
+                Long id = randomId(random);
+                return id == null ? health() : call(Operation.GET_BY_ID, get("/api/users/" + id));
+            } else if (roll < 70) {
+                return call(Operation.PAGE, get("/api/users/page?page=" + (1 + random.nextInt(50)) + "&size=20"));
+            } else if (roll < 90) {
+                return call(Operation.SEARCH, get("/api/users/search?q=" + WORDS[random.nextInt(WORDS.length)]
+                        + "&size=20"));
+            }
+            return health();
+        }
+
+        int roll = random.nextInt(100);
+        if (roll < 50) {
+            Long id = randomId(random);
+            if (id != null) {
+                String email;
+                synchronized (this) {
+                    email = emails.get(id);
+                }
+                if (email != null) {
+                    return call(Operation.UPDATE, json("PUT", "/api/users/" + id,
+                            user(WORDS[random.nextInt(WORDS.length)] + " updated", email, 18 + random.nextInt(50))));
+                }
+            }
+        } else if (roll < 70) {
+            Long id = removeRandomId(random);
+            if (id != null) {
+                return call(Operation.DELETE,
+                        HttpRequest.newBuilder(uri("/api/users/" + id)).timeout(TIMEOUT).DELETE());
+            }
+        }
+        String email = "load-" + runId + "-c" + createdCount.incrementAndGet() + "@loadtest.local";
+        return new Call(Operation.CREATE, json("POST", "/api/users",
+                user(WORDS[random.nextInt(WORDS.length)] + " created", email, 18 + random.nextInt(50))).build(),
+                body -> {
+                    JsonNode id = objectMapper.readTree(body).path("data").path("id");
+                    if (id.isNumber()) {
+                        add(id.asLong(), email);
+                    }
+                });
+    }
+
+    public synchronized int size() {
+        return ids.size();
+    }
+
+    private Call health() {
+        return call(Operation.HEALTH, get("/health"));
+    }
+
+    private Call call(Operation operation, HttpRequest.Builder request) {
+        return new Call(operation, request.build(), null);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(TIMEOUT).GET();
+    }
+
+    private HttpRequest.Builder json(String method, String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private JsonNode send(HttpClient client, HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.timeout(TIMEOUT)
+                .header("Content-Type", "application/json").build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode body = objectMapper.readTree(response.body());
+        if (response.statusCode() != 200 || body.path("code").asInt() != 200) {
+            throw new IOException("请求失败: " + response.statusCode() + " " + response.body());
+        }
+        return body;
+    }
+
+    private static Map<String, Object> user(String name, String email, int age) {
+        Map<String, Object> user = new HashMap<>();
+        user.put("name", name);
+        user.put("email", email);
+        user.put("age", age);
+        return user;
+    }
+
+    private synchronized void add(long id, String email) {
+        ids.add(id);
+        emails.put(id, email);
+    }
+
+    private synchronized Long randomId(Random random) {
+        return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+    }
+
+    /**
+     * 取出一个ID并从数据集中移除，避免多个删除请求命中同一个用户
+     */
+    private synchronized Long removeRandomId(Random random) {
+        if (ids.isEmpty()) {
+            return null;
+        }
+        int index = random.nextInt(ids.size());
+        Long id = ids.get(index);
+        ids.set(index, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        emails.remove(id);
+        return id;
+    }
+
+    /**
+     * 一个待发送的请求
+     */
+    public static final class Call {
+        private final Operation operation;
+        private final HttpRequest request;
+        private final ResponseHandler onSuccess;
+
+        private Call(Operation operation, HttpRequest request, ResponseHandler onSuccess) {
+            this.operation = operation;
+            this.request = request;
+            this.onSuccess = onSuccess;
+        }
+
+        public Operation getOperation() {
+            return operation;
+        }
+
+        public HttpRequest getRequest() {
+            return request;
+        }
+
+        /**
+         * 请求成功后处理响应体，例如记录新建用户的ID
+         */
+        public void succeeded(String body) throws IOException {
+            if (onSuccess != null) {
+                onSuccess.handle(body);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseHandler {
+        void handle(String body) throws IOException;
+    }
+}
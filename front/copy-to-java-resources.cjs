@@ -2,11 +2,17 @@
 const fs = require('fs');
 // eslint-disable-next-line @typescript-eslint/no-require-imports
 const path = require('path');
+// eslint-disable-next-line @typescript-eslint/no-require-imports
+const zlib = require('zlib');
 
 // 定义源目录和目标目录
 const sourceDir = path.resolve(__dirname, 'dist');
 const targetDir = path.resolve(__dirname, '../application/src/main/resources/web');
 
+// 预压缩的文件类型及最小大小，Java端优先直接使用这些预压缩文件
+const COMPRESSIBLE = /\.(js|css|svg|json|html)$/;
+const MIN_COMPRESS_SIZE = 1024;
+
 // 创建目标目录的函数
 function createDir(dir) {
   if (!fs.existsSync(dir)) {
@@ -37,7 +43,7 @@ function copyDir(src, dest) {
         // 读取JavaFX适配的模板
         const templatePath = path.resolve(__dirname, 'javafx-template.html');
         if (fs.existsSync(templatePath)) {
-          copyFile(templatePath, destPath);
+          fs.writeFileSync(destPath, renderTemplate(templatePath, path.join(src, 'assets')));
           console.log('Copied JavaFX-adapted index.html');
         } else {
           copyFile(srcPath, destPath);
@@ -49,10 +55,56 @@ function copyDir(src, dest) {
   }
 }
 
+// 把模板中的./assets/index.js、./assets/index.css替换为带哈希的实际文件名
+function renderTemplate(templatePath, assetsDir) {
+  const files = fs.readdirSync(assetsDir);
+  const entry = (ext) => files.find((name) => name.startsWith('index.') && name.endsWith(ext));
+  let html = fs.readFileSync(templatePath, 'utf8');
+  for (const ext of ['.js', '.css']) {
+    const name = entry(ext);
+    if (name) {
+      html = html.replace('./assets/index' + ext, './assets/' + name);
+    }
+  }
+  return html;
+}
+
+// 为可压缩的资源生成.gz和.br文件，压缩后没有变小的不保留
+function precompress(dir) {
+  for (const entry of fs.readdirSync(dir, { withFileTypes: true })) {
+    const filePath = path.join(dir, entry.name);
+    if (entry.isDirectory()) {
+      precompress(filePath);
+      continue;
+    }
+    if (!COMPRESSIBLE.test(entry.name)) {
+      continue;
+    }
+    const content = fs.readFileSync(filePath);
+    if (content.length < MIN_COMPRESS_SIZE) {
+      continue;
+    }
+    const variants = {
+      '.gz': zlib.gzipSync(content, { level: 9 }),
+      '.br': zlib.brotliCompressSync(content, {
+        params: { [zlib.constants.BROTLI_PARAM_QUALITY]: 11 }
+      })
+    };
+    for (const [suffix, compressed] of Object.entries(variants)) {
+      if (compressed.length < content.length) {
+        fs.writeFileSync(filePath + suffix, compressed);
+      }
+    }
+  }
+}
+
 // 执行复制操作
 try {
   console.log('Copying frontend build to Java resources...');
+  // 先清空旧的构建产物，避免过期的哈希文件残留在资源目录中
+  fs.rmSync(path.join(targetDir, 'assets'), { recursive: true, force: true });
   copyDir(sourceDir, targetDir);
+  precompress(targetDir);
   console.log('Frontend build copied to Java resources successfully!');
 } catch (error) {
   console.error('Error copying frontend build:', error);
@@ -7,6 +7,7 @@ import 'element-plus/dist/index.css'
 
 import App from './App.vue'
 import router from './router'
+import { notifyMounted } from './utils/desktop'
 
 const app = createApp(App)
 
@@ -14,4 +15,7 @@ app.use(createPinia())
 app.use(router)
 app.use(ElementPlus)
 
-app.mount('#app')
\ No newline at end of file
+app.mount('#app')
+
+// 首个路由渲染完成后通知桌面端
+router.isReady().then(notifyMounted)
\ No newline at end of file
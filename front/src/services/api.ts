@@ -19,6 +19,46 @@ export interface PageData<T> {
   pages: number
 }
 
+// 定义游标分页数据接口
+export interface CursorPageData<T> {
+  records: T[]
+  size: number
+  nextCursor: string | null
+  prevCursor: string | null
+  hasNext: boolean
+  hasPrev: boolean
+  total: number | null
+}
+
+// 定义导入任务接口
+export interface ImportJob {
+  id: string
+  fileName: string
+  format: 'NDJSON' | 'CSV'
+  status: 'PENDING' | 'RUNNING' | 'COMPLETED' | 'FAILED'
+  message: string | null
+  progress: number
+  totalBytes: number
+  bytesRead: number
+  processedRows: number
+  importedRows: number
+  failedRows: number
+  errors: { line: number; error: string; raw: string }[]
+  createdAt: number
+  startedAt: number
+  finishedAt: number
+  finished: boolean
+}
+
+// 定义用户变更事件接口，sequence单调递增
+export interface UserChange {
+  sequence: number
+  type: 'CREATED' | 'UPDATED' | 'DELETED' | 'BULK'
+  id: number | null
+  user: User | null
+  timestamp: number
+}
+
 // 定义通用的API响应格式
 export interface ApiResponse<T> {
   code: number
@@ -48,10 +88,36 @@ export class ApiService {
     return request.delete<ApiResponse<void>>(`/users/${userId}`)
   }
 
-  // 获取用户列表
-  static getUserList(params?: { page?: number; size?: number }) {
+  // 获取用户列表，fields为逗号分隔的字段（例如id,name,email），只查询和返回这些字段
+  static getUserList(params?: { page?: number; size?: number; fields?: string }) {
     return request.get<ApiResponse<PageData<User>>>('/users/page', { params })
   }
+
+  // 按姓名或邮箱搜索用户
+  static searchUsers(params: { q: string; page?: number; size?: number; fuzzy?: boolean }) {
+    return request.get<ApiResponse<PageData<User>>>('/users/search', { params })
+  }
+
+  // 游标分页获取用户列表，cursor为空字符串表示第一页
+  static getUserListByCursor(params: { cursor: string; size?: number; withTotal?: boolean }) {
+    return request.get<ApiResponse<CursorPageData<User>>>('/users/page', { params })
+  }
+
+  // 上传CSV/NDJSON文件批量导入用户，返回后台任务
+  static importUsers(file: File, format?: 'csv' | 'ndjson') {
+    const formData = new FormData()
+    formData.append('file', file)
+    return request.post<ApiResponse<ImportJob>>('/users/import', formData, {
+      params: { format },
+      // 覆盖默认的JSON类型，由浏览器补充multipart边界
+      headers: { 'Content-Type': 'multipart/form-data' }
+    })
+  }
+
+  // 查询导入任务进度
+  static getImportJob(jobId: string) {
+    return request.get<ApiResponse<ImportJob>>(`/users/import/${jobId}`)
+  }
 }
 
 export default ApiService
\ No newline at end of file
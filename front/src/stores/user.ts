@@ -1,5 +1,5 @@
 import { defineStore } from 'pinia'
-import { ApiService, type User, type PageData } from '@/services/api'
+import { ApiService, type User, type PageData, type UserChange } from '@/services/api'
 
 // 定义用户状态接口
 interface UserState {
@@ -53,7 +53,8 @@ export const useUserStore = defineStore('user', {
       this.loading = true
       this.error = null
       try {
-        const response = await ApiService.getUserList(params)
+        // 列表只展示ID、姓名和邮箱
+        const response = await ApiService.getUserList({ ...params, fields: 'id,name,email' })
         // 根据实际的API响应结构调整
         if (response && response.data) {
           const data = response.data as unknown as PageData<User>
@@ -134,6 +135,28 @@ export const useUserStore = defineStore('user', {
       }
     },
 
+    // 把变更事件应用到当前页，新建的用户只计入总数，不插入当前页
+    applyChange(change: UserChange) {
+      const index = this.userList.findIndex((user) => user.id === change.id)
+      if (change.type === 'UPDATED' && index >= 0 && change.user) {
+        // 批量更新的事件只包含提交的字段，忽略空值
+        const fields = Object.fromEntries(
+          Object.entries(change.user).filter(([, value]) => value !== null && value !== undefined)
+        )
+        this.userList[index] = { ...this.userList[index], ...fields }
+      } else if (change.type === 'DELETED') {
+        if (index >= 0) {
+          this.userList.splice(index, 1)
+        }
+        this.total = Math.max(0, this.total - 1)
+      } else if (change.type === 'CREATED') {
+        this.total++
+      }
+      if (this.userInfo && this.userInfo.id === change.id && change.type === 'UPDATED' && change.user) {
+        this.userInfo = { ...this.userInfo, ...change.user }
+      }
+    },
+
     clearError() {
       this.error = null
     }
@@ -0,0 +1,45 @@
+import request from './request'
+import { isDesktop } from './desktop'
+import type { UserChange } from '@/services/api'
+
+declare global {
+  interface Window {
+    // 桌面模式下由Java推送用户变更事件，参数为事件数组的JSON
+    __javaUserChanges?: (events: string) => void
+  }
+}
+
+export interface UserChangeHandlers {
+  // 按序号顺序收到的变更事件
+  onChange: (change: UserChange) => void
+  // 无法续传或发生批量变更，需要重新拉取数据
+  onReset: () => void
+}
+
+// 订阅用户变更，返回取消订阅的函数
+// 浏览器中使用SSE，EventSource断线后会自动重连并通过Last-Event-ID续传；桌面模式下由Java直接推送
+export function subscribeUserChanges(handlers: UserChangeHandlers) {
+  const dispatch = (change: UserChange) => {
+    if (change.type === 'BULK') {
+      handlers.onReset()
+    } else {
+      handlers.onChange(change)
+    }
+  }
+
+  if (isDesktop()) {
+    window.__javaUserChanges = (events: string) => {
+      for (const change of JSON.parse(events) as UserChange[]) {
+        dispatch(change)
+      }
+    }
+    return () => {
+      window.__javaUserChanges = undefined
+    }
+  }
+
+  const source = new EventSource(`${request.defaults.baseURL}/users/changes`)
+  source.addEventListener('change', (event) => dispatch(JSON.parse((event as MessageEvent).data)))
+  source.addEventListener('reset', () => handlers.onReset())
+  return () => source.close()
+}
@@ -0,0 +1,162 @@
+import { AxiosError, AxiosHeaders } from 'axios'
+import type { AxiosAdapter, AxiosResponse, InternalAxiosRequestConfig } from 'axios'
+
+// 桌面端（JavaFX WebView）桥接对象，由Java在页面加载完成后注入到window.desktopBridge
+export interface DesktopBridge {
+  onMounted(diagnostics: string): void
+}
+
+// 进程内API桥接对象，由Java注入到window.javaApi，一次提交一批请求
+export interface JavaApi {
+  submit(batch: string): void
+}
+
+declare global {
+  interface Window {
+    desktopBridge?: DesktopBridge
+    javaApi?: JavaApi
+    // Vue挂载时桥接对象可能尚未注入，先把诊断信息记录在这里，由Java注入后读取
+    __desktopMounted?: string
+    // javaApi注入后由Java调用
+    __javaApiReady?: () => void
+    // 一批请求处理完成后由Java调用，参数为响应数组的JSON
+    __javaApiResolve?: (responses: string) => void
+  }
+}
+
+interface BridgeRequest {
+  id: number
+  method: string
+  url: string
+  params: Record<string, unknown> | null
+  data: unknown
+}
+
+interface BridgeResponse {
+  id: number
+  status: number
+  body: unknown
+}
+
+interface PendingCall {
+  config: InternalAxiosRequestConfig
+  resolve: (response: AxiosResponse) => void
+  reject: (error: unknown) => void
+  timer?: ReturnType<typeof setTimeout>
+}
+
+// 页面由JavaFX从jar/file加载时为桌面模式，此时没有HTTP服务可用
+export function isDesktop() {
+  return location.protocol !== 'http:' && location.protocol !== 'https:'
+}
+
+const pending = new Map<number, PendingCall>()
+let queue: BridgeRequest[] = []
+let nextId = 1
+let flushScheduled = false
+let bridgeReady: Promise<JavaApi> | null = null
+
+// 等待Java注入window.javaApi，页面加载完成前发出的请求会在此排队
+function waitForBridge() {
+  if (!bridgeReady) {
+    bridgeReady = new Promise((resolve) => {
+      if (window.javaApi) {
+        resolve(window.javaApi)
+      } else {
+        window.__javaApiReady = () => resolve(window.javaApi!)
+      }
+    })
+    window.__javaApiResolve = (payload: string) => {
+      for (const response of JSON.parse(payload) as BridgeResponse[]) {
+        settle(response)
+      }
+    }
+  }
+  return bridgeReady
+}
+
+function settle(response: BridgeResponse) {
+  const call = pending.get(response.id)
+  if (!call) {
+    return
+  }
+  pending.delete(response.id)
+  clearTimeout(call.timer)
+  const axiosResponse: AxiosResponse = {
+    data: response.body,
+    status: response.status,
+    statusText: '',
+    headers: new AxiosHeaders(),
+    config: call.config
+  }
+  const validateStatus = call.config.validateStatus
+  if (!validateStatus || validateStatus(response.status)) {
+    call.resolve(axiosResponse)
+  } else {
+    call.reject(new AxiosError(
+      'Request failed with status code ' + response.status,
+      AxiosError.ERR_BAD_RESPONSE,
+      call.config,
+      null,
+      axiosResponse
+    ))
+  }
+}
+
+// 同一事件循环内发出的请求合并为一次跨语言调用
+function flush() {
+  flushScheduled = false
+  const batch = queue
+  queue = []
+  waitForBridge().then((api) => api.submit(JSON.stringify(batch)))
+}
+
+// axios适配器：桌面模式下通过window.javaApi在进程内处理请求
+export const desktopAdapter: AxiosAdapter = (config) =>
+  new Promise((resolve, reject) => {
+    if (typeof FormData !== 'undefined' && config.data instanceof FormData) {
+      reject(new AxiosError('桌面模式下请使用 Ctrl/Cmd+I 导入文件', AxiosError.ERR_NOT_SUPPORT, config))
+      return
+    }
+    const id = nextId++
+    const call: PendingCall = { config, resolve, reject }
+    if (config.timeout) {
+      call.timer = setTimeout(() => {
+        pending.delete(id)
+        reject(new AxiosError('timeout of ' + config.timeout + 'ms exceeded', AxiosError.ECONNABORTED, config))
+      }, config.timeout)
+    }
+    pending.set(id, call)
+    queue.push({
+      id,
+      method: (config.method ?? 'get').toUpperCase(),
+      url: config.url ?? '',
+      params: config.params ?? null,
+      // 请求体已经过transformRequest序列化为JSON字符串
+      data: typeof config.data === 'string' ? JSON.parse(config.data) : config.data ?? null
+    })
+    if (!flushScheduled) {
+      flushScheduled = true
+      queueMicrotask(flush)
+    }
+  })
+
+// 收集页面诊断信息
+function collectDiagnostics() {
+  const app = document.getElementById('app')
+  const navigation = performance.getEntriesByType('navigation')[0] as PerformanceNavigationTiming | undefined
+  return {
+    title: document.title,
+    appElement: app !== null,
+    appContentLength: app ? app.innerHTML.length : 0,
+    domContentLoaded: navigation ? Math.round(navigation.domContentLoadedEventEnd) : null,
+    mountedAt: Math.round(performance.now())
+  }
+}
+
+// 通知Java端Vue应用已挂载，在浏览器中运行时没有桥接对象，只记录诊断信息
+export function notifyMounted() {
+  const diagnostics = JSON.stringify(collectDiagnostics())
+  window.__desktopMounted = diagnostics
+  window.desktopBridge?.onMounted(diagnostics)
+}
@@ -1,9 +1,12 @@
 import axios from 'axios'
 import type { AxiosInstance, AxiosResponse, AxiosError } from 'axios'
+import { desktopAdapter, isDesktop } from './desktop'
 
 // 创建axios实例
 const service: AxiosInstance = axios.create({
   baseURL: 'http://localhost:8080/api', // 直接指向后端服务地址
+  // 桌面模式下通过进程内桥接处理请求，不经过HTTP
+  adapter: isDesktop() ? desktopAdapter : undefined,
   timeout: 15000, // 请求超时时间
   headers: {
     'Content-Type': 'application/json;charset=UTF-8'
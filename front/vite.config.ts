@@ -22,9 +22,10 @@ export default defineConfig({
     target: ['es2015'], // 使用较旧的ES版本以提高兼容性
     rollupOptions: {
       output: {
-        entryFileNames: 'assets/index.js',
-        chunkFileNames: 'assets/[name].js',
-        assetFileNames: 'assets/[name].[ext]',
+        // 文件名带内容哈希，Java端据此对资源使用immutable长期缓存
+        entryFileNames: 'assets/index.[hash].js',
+        chunkFileNames: 'assets/[name].[hash].js',
+        assetFileNames: 'assets/[name].[hash].[ext]',
         // 禁用代码分割以减少模块化问题
         manualChunks: undefined,
         // 使用UMD格式以提高JavaFX WebView兼容性